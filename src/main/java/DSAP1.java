@@ -1,12 +1,30 @@
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class DSAP1 {
     public static void main(String[] args) {
@@ -16,9 +34,7 @@ public class DSAP1 {
         } else {
             LargestEmptySquareCalculator calculator = getCalculationStrategyFromFlag(stripHyphens(args[0])).get();
             try {
-                InputStream input = Files.newInputStream(Paths.get(args[1]));
-                MatrixLoader loader = new MatrixLoader();
-                int largestEmptySquare = calculator.getLargestEmptySquare(loader.deserializeMatrix(input));
+                int largestEmptySquare = getLargestEmptySquare(calculator, args[1]);
                 System.out.print(largestEmptySquare);
             } catch (IOException e) {
                 System.err.println("Could not open file.");
@@ -30,6 +46,40 @@ public class DSAP1 {
         }
     }
 
+    /**
+     * Load a matrix in the form the calculator expects and find its largest empty square.
+     * @param calculator The calculator to use
+     * @param filename The path of the matrix file, or - for standard input
+     * @return The side length of the largest empty square
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    private static int getLargestEmptySquare(LargestEmptySquareCalculator calculator, String filename) throws IOException, ParseException {
+        MatrixLoader loader = new MatrixLoader();
+
+        if (!filename.equals("-") && loader.isBinaryMatrix(Paths.get(filename))) {
+            return calculator.getLargestEmptySquare(loader.mapBinaryMatrix(Paths.get(filename)));
+        } else if (calculator instanceof StreamingLargestEmptySquareCalculator) {
+            try (MatrixRowReader rows = loader.openMatrixRows(openInput(filename))) {
+                return ((StreamingLargestEmptySquareCalculator) calculator).getLargestEmptySquare(rows);
+            }
+        } else if (calculator instanceof SparseLargestEmptySquareCalculator) {
+            SparseMatrix matrix = loader.deserializeSparseMatrix(openInput(filename));
+            return ((SparseLargestEmptySquareCalculator) calculator).getLargestEmptySquare(matrix);
+        } else if (calculator instanceof RunLengthLargestEmptySquareCalculator) {
+            RunLengthMatrix matrix = loader.deserializeRunLengthMatrix(openInput(filename));
+            return ((RunLengthLargestEmptySquareCalculator) calculator).getLargestEmptySquare(matrix);
+        } else if (calculator.readsPackedMatrices()) {
+            return calculator.getLargestEmptySquare(loader.deserializePackedMatrix(openInput(filename)));
+        } else {
+            return calculator.getLargestEmptySquare(loader.deserializeMatrix(openInput(filename)));
+        }
+    }
+
+    private static InputStream openInput(String filename) throws IOException {
+        return filename.equals("-") ? System.in : Files.newInputStream(Paths.get(filename));
+    }
+
     /**
      * Strip the hyphens from the beginning of a command-line flag
      * @param flag The hyphen-prefixed command-line flag
@@ -57,6 +107,20 @@ public class DSAP1 {
             return Optional.of(new MemoizedLargestEmptySquareCalculator());
         } else if (Arrays.asList("i", "iterative").contains(lowerCaseFlag)) {
             return Optional.of(new IterativeLargestEmptySquareCalculator());
+        } else if (Arrays.asList("ri", "rolling-iterative").contains(lowerCaseFlag)) {
+            return Optional.of(new RollingIterativeLargestEmptySquareCalculator());
+        } else if (Arrays.asList("s", "streaming").contains(lowerCaseFlag)) {
+            return Optional.of(new StreamingLargestEmptySquareCalculator());
+        } else if (Arrays.asList("t", "tiled", "p", "parallel").contains(lowerCaseFlag)) {
+            return Optional.of(new TiledLargestEmptySquareCalculator());
+        } else if (Arrays.asList("sp", "sparse").contains(lowerCaseFlag)) {
+            return Optional.of(new SparseLargestEmptySquareCalculator());
+        } else if (Arrays.asList("b", "bit-parallel").contains(lowerCaseFlag)) {
+            return Optional.of(new BitParallelLargestEmptySquareCalculator());
+        } else if (Arrays.asList("sm", "stack-memoized").contains(lowerCaseFlag)) {
+            return Optional.of(new StackSafeMemoizedLargestEmptySquareCalculator());
+        } else if (Arrays.asList("rl", "run-length").contains(lowerCaseFlag)) {
+            return Optional.of(new RunLengthLargestEmptySquareCalculator());
         } else {
             return Optional.empty();
         }
@@ -70,11 +134,81 @@ public class DSAP1 {
         System.out.println("       dsap1 -r <filename>");
         System.out.println("       dsap1 -m <filename>");
         System.out.println("       dsap1 -i <filename>");
+        System.out.println("       dsap1 -ri <filename>");
+        System.out.println("       dsap1 -s <filename>");
+        System.out.println("       dsap1 -t|-p <filename>");
+        System.out.println("       dsap1 -sp <sparse filename>");
+        System.out.println("       dsap1 -b <filename>");
+        System.out.println("       dsap1 -sm <filename>");
+        System.out.println("       dsap1 -rl <run-length filename>");
+        System.out.println("use - as the filename to read the matrix from standard input");
+        System.out.println("binary matrix files written by MatrixWriter are memory-mapped instead of parsed");
     }
 
 }
 
 class MatrixLoader {
+    /**
+     * The first four bytes of a binary matrix file, "DSAM" in ASCII.
+     */
+    public static final int BINARY_MAGIC = 0x4D415344;
+    /**
+     * The size of a binary matrix file's header: the magic number and the side length, as little-endian ints.
+     */
+    public static final int BINARY_HEADER_SIZE = 8;
+
+    /**
+     * Check whether a file starts with the binary matrix header.
+     * @param path The path of the file to check.
+     * @return true if the file is a binary matrix file.
+     * @throws IOException if the file cannot be read.
+     */
+    public boolean isBinaryMatrix(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) { }
+            return !magic.hasRemaining() && magic.getInt(0) == BINARY_MAGIC;
+        }
+    }
+
+    /**
+     * Memory-map a binary matrix file. The returned matrix reads its words straight from the mapping, so loading takes
+     * no time beyond checking the header, and it is read-only. A single mapping is limited to 2GB, so larger files are
+     * rejected.
+     * @param path The path of a binary matrix file.
+     * @return A packed matrix backed by the file.
+     * @throws IOException if the file cannot be read, or is too large to map.
+     * @throws ParseException if the file is not a binary matrix file or is the wrong length.
+     */
+    public PackedMatrix mapBinaryMatrix(Path path) throws IOException, ParseException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(String.format(
+                        "The binary matrix file is %d bytes, but at most %d bytes can be memory-mapped.",
+                        channel.size(), Integer.MAX_VALUE
+                ));
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (mapping.limit() < BINARY_HEADER_SIZE || mapping.getInt(0) != BINARY_MAGIC) {
+                throw new ParseException("The file is not a binary matrix file.", 0);
+            }
+            int sideLength = mapping.getInt(4);
+            if (sideLength < 0) {
+                throw new ParseException("The side length must be an unsigned integer.", 4);
+            }
+
+            long expectedSize = BINARY_HEADER_SIZE + (long) sideLength * PackedMatrix.wordsPerRow(sideLength) * Long.BYTES;
+            if (mapping.limit() != expectedSize) {
+                throw new ParseException("The file is not the specified length.", BINARY_HEADER_SIZE);
+            }
+
+            mapping.position(BINARY_HEADER_SIZE);
+            LongBuffer words = mapping.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            return new PackedMatrix(sideLength, words);
+        }
+    }
 
     /**
      * Deserialize a matrix definition file into a nested boolean array representing the same matrix.
@@ -105,6 +239,178 @@ class MatrixLoader {
         }
     }
 
+    /**
+     * Deserialize a matrix definition file directly into a bit-packed matrix, without materialising a boolean array.
+     * @param input A matrix definition file.
+     * @return A packed matrix corresponding to the input file supplied.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public PackedMatrix deserializePackedMatrix(InputStream input) throws IOException, ParseException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+            int sideLength = Integer.parseUnsignedInt(reader.readLine());
+            PackedMatrix matrix = new PackedMatrix(sideLength);
+
+            String line = null;
+            for (int currentLine = 0; currentLine < sideLength; currentLine++) {
+                line = reader.readLine();
+                if (line.length() != sideLength) {
+                    throw new ParseException("The current line is not the specified length.", currentLine);
+                }
+                deserializeToPackedRow(line, currentLine, matrix);
+            }
+
+            if (reader.ready()) {
+                throw new ParseException("The file is longer than the specified length.", -1);
+            }
+
+            return matrix;
+        }
+    }
+
+    /**
+     * Given a line of input from a matrix definition file, pack it into the given row of a packed matrix, one word
+     * at a time.
+     * @param line The line from the input file.
+     * @param row The index of the row to fill.
+     * @param matrix The packed matrix to fill.
+     * @throws ParseException if unexpected characters are found.
+     */
+    private void deserializeToPackedRow(String line, int row, PackedMatrix matrix) throws ParseException {
+        for (int wordIndex = 0; wordIndex < matrix.wordsPerRow; wordIndex++) {
+            long word = 0L;
+            int start = wordIndex * Long.SIZE;
+            int end = Math.min(start + Long.SIZE, matrix.sideLength);
+            for (int i = start; i < end; i++) {
+                char currentChar = line.charAt(i);
+                if (currentChar == '1') {
+                    word |= 1L << (i - start);
+                } else if (currentChar != '0') {
+                    throw new ParseException("Booleans must be represented by '0' or '1'.", i);
+                }
+            }
+            matrix.setWord(row, wordIndex, word);
+        }
+    }
+
+    /**
+     * Open a matrix definition file for reading one row at a time, without holding the whole matrix in memory.
+     * @param input A matrix definition file.
+     * @return A reader positioned at the first row of the matrix.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the side length cannot be parsed.
+     */
+    public MatrixRowReader openMatrixRows(InputStream input) throws IOException, ParseException {
+        return new MatrixRowReader(new BufferedInputStream(input, 1 << 16));
+    }
+
+    /**
+     * Deserialize a sparse matrix definition file. The first line holds the side length and the number of obstacles,
+     * and each following line holds the x and y coordinates of one obstacle.
+     * @param input A sparse matrix definition file.
+     * @return A sparse matrix corresponding to the input file supplied.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public SparseMatrix deserializeSparseMatrix(InputStream input) throws IOException, ParseException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+            int[] header = deserializeCoordinates(reader.readLine(), 0);
+            int sideLength = header[0];
+            int numberOfObstacles = header[1];
+            SparseMatrix matrix = new SparseMatrix(sideLength, new int[numberOfObstacles], new int[numberOfObstacles]);
+
+            for (int currentLine = 1; currentLine <= numberOfObstacles; currentLine++) {
+                int[] obstacle = deserializeCoordinates(reader.readLine(), currentLine);
+                if (obstacle[0] >= sideLength || obstacle[1] >= sideLength) {
+                    throw new ParseException("The obstacle lies outside the matrix.", currentLine);
+                }
+                matrix.obstacleXs[currentLine - 1] = obstacle[0];
+                matrix.obstacleYs[currentLine - 1] = obstacle[1];
+            }
+
+            if (reader.ready()) {
+                throw new ParseException("The file is longer than the specified length.", -1);
+            }
+
+            return matrix;
+        }
+    }
+
+    /**
+     * Deserialize a run-length encoded matrix definition file. The first line holds the side length, and each following
+     * line holds one row as the lengths of alternating runs of empty and non-empty cells, starting with an empty run
+     * which may have length zero.
+     * @param input A run-length encoded matrix definition file.
+     * @return A run-length encoded matrix corresponding to the input file supplied.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public RunLengthMatrix deserializeRunLengthMatrix(InputStream input) throws IOException, ParseException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+            int sideLength = Integer.parseUnsignedInt(reader.readLine().trim());
+            int[][] runs = new int[sideLength][];
+
+            for (int currentLine = 0; currentLine < sideLength; currentLine++) {
+                runs[currentLine] = deserializeRuns(reader.readLine(), sideLength, currentLine);
+            }
+
+            if (reader.ready()) {
+                throw new ParseException("The file is longer than the specified length.", -1);
+            }
+
+            return new RunLengthMatrix(sideLength, runs);
+        }
+    }
+
+    private int[] deserializeRuns(String line, int sideLength, int lineNumber) throws ParseException {
+        if (line == null) {
+            throw new ParseException("The file is shorter than the specified length.", lineNumber);
+        }
+
+        // Break the line up by horizontal whitespace (\h)
+        String[] tokens = line.trim().split("\\h+");
+        int[] runs = new int[tokens.length];
+        long totalLength = 0;
+        try {
+            for (int i = 0; i < tokens.length; i++) {
+                runs[i] = Integer.parseUnsignedInt(tokens[i]);
+                totalLength += runs[i];
+            }
+        } catch (NumberFormatException e) {
+            throw new ParseException("Expected unsigned integers in the line: " + line, lineNumber);
+        }
+
+        if (totalLength != sideLength) {
+            throw new ParseException("The current line is not the specified length.", lineNumber);
+        }
+        return runs;
+    }
+
+    /**
+     * Deserialize a line holding exactly two unsigned integers separated by horizontal whitespace.
+     * @param line The line from the input file.
+     * @param lineNumber The index of the line, for error reporting.
+     * @return The two integers on the line.
+     * @throws ParseException if the line does not hold two unsigned integers.
+     */
+    private int[] deserializeCoordinates(String line, int lineNumber) throws ParseException {
+        if (line == null) {
+            throw new ParseException("The file is shorter than the specified length.", lineNumber);
+        }
+
+        // Break the line up by horizontal whitespace (\h)
+        String[] tokens = line.trim().split("\\h+");
+        if (tokens.length != 2) {
+            throw new ParseException(String.format("Expected 2 items, found %d in the line: %s", tokens.length, line), lineNumber);
+        }
+
+        try {
+            return new int[]{Integer.parseUnsignedInt(tokens[0]), Integer.parseUnsignedInt(tokens[1])};
+        } catch (NumberFormatException e) {
+            throw new ParseException("Expected unsigned integers in the line: " + line, lineNumber);
+        }
+    }
+
     /**
      * Given a line of input from a matrix definition file, deserialize it to an array of booleans of the length
      * specified. Discard any further input.
@@ -130,119 +436,1457 @@ class MatrixLoader {
     }
 }
 
-interface LargestEmptySquareCalculator {
-    public int getLargestEmptySquare(boolean[][] matrix);
-}
+class MatrixWriter {
 
-class DSAP1Utils {
     /**
-     * Get the smallest int int from a vararg list of ints.
-     * @param ints The ints to search for the smallest value.
-     * @return The smallest int in the list.
+     * Serialize a packed matrix in the binary matrix format: the header described in MatrixLoader followed by the
+     * packed words of each row, as little-endian longs.
+     * @param matrix The matrix to serialize.
+     * @param output The stream to write to.
+     * @throws IOException if the output cannot be written.
      */
-    public static int min(int... ints) {
-        if (ints.length == 0) {
-            return 0;
+    public void serializeBinaryMatrix(PackedMatrix matrix, OutputStream output) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(output);
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MatrixLoader.BINARY_MAGIC);
+        buffer.putInt(matrix.sideLength);
+
+        for (int y = 0; y < matrix.sideLength; y++) {
+            for (int wordIndex = 0; wordIndex < matrix.wordsPerRow; wordIndex++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    writeBuffer(buffer, channel);
+                }
+                buffer.putLong(matrix.getWord(y, wordIndex));
+            }
         }
+        writeBuffer(buffer, channel);
+        output.flush();
+    }
 
-        int smallest = Integer.MAX_VALUE;
-        for(int i : ints) {
-            if (i < smallest) smallest = i;
+    private void writeBuffer(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
         }
-        return smallest;
+        buffer.clear();
     }
 }
 
-class RecursiveLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
-    public int getLargestEmptySquare(boolean[][] matrix) {
-        int largestEmptySquare = 0;
-        for (int y = 0; y < matrix.length; y++) {
-            for (int x = 0; x < matrix[0].length; x++) {
-                int s = les(matrix, x, y);
-                if (s > largestEmptySquare) {
-                    largestEmptySquare = s;
-                }
-            }
-        }
-        return largestEmptySquare;
+/**
+ * Reads a matrix definition file row by row, straight from the bytes of the input, reusing the caller's row buffer.
+ */
+class MatrixRowReader implements Closeable {
+    public int sideLength;
+    private InputStream input;
+    private int currentRow = 0;
+
+    public MatrixRowReader(InputStream input) throws IOException, ParseException {
+        this.input = input;
+        this.sideLength = readSideLength();
     }
 
     /**
-     * Get the side length of the largest empty square whose bottom right corner is at (x,y)
-     * @param matrix The matrix of empty and non-empty cells to find the largest empty square in
-     * @param x The x-coordinate of the bottom right corner of the largest empty square
-     * @param y The y-coordinate of the bottom right corner of the largest empty square
-     * @return The side length of the largest empty square in this position
+     * Read the next row of the matrix into the supplied array.
+     * @param row An array of at least sideLength booleans to fill.
+     * @return true if a row was read, false if every row has already been read.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
      */
-    private int les(boolean[][] matrix, int x, int y) {
-        if (matrix[y][x]) {
-            return 0;
-        } else if (x == 0 || y == 0) {
-            return 1;
-        } else {
-            return DSAP1Utils.min(
-                    les(matrix, x-1, y-1),
-                    les(matrix, x-1, y),
-                    les(matrix, x, y-1)
-            ) + 1;
+    public boolean readRow(boolean[] row) throws IOException, ParseException {
+        if (currentRow == sideLength) {
+            return false;
+        }
+
+        for (int i = 0; i < sideLength; i++) {
+            int currentChar = input.read();
+            if (currentChar == '0') {
+                row[i] = false;
+            } else if (currentChar == '1') {
+                row[i] = true;
+            } else if (currentChar == '\r' || currentChar == '\n' || currentChar == -1) {
+                throw new ParseException("The current line is not the specified length.", currentRow);
+            } else {
+                throw new ParseException("Booleans must be represented by '0' or '1'.", i);
+            }
+        }
+
+        readLineEnding();
+        currentRow++;
+
+        if (currentRow == sideLength && input.read() != -1) {
+            throw new ParseException("The file is longer than the specified length.", -1);
         }
+
+        return true;
     }
-}
 
-class MemoizedLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
-    public int getLargestEmptySquare(boolean[][] matrix) {
-        Integer[][] memory = new Integer[matrix.length][matrix.length];
-        int largestEmptySquare = 0;
-        for (int y = 0; y < matrix.length; y++) {
-            for (int x = 0; x < matrix[0].length; x++) {
-                int s = les(matrix, x, y, memory);
-                if (s > largestEmptySquare) {
-                    largestEmptySquare = s;
-                }
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private int readSideLength() throws IOException, ParseException {
+        long sideLength = 0;
+        int digits = 0;
+        int currentChar;
+        while ((currentChar = input.read()) >= '0' && currentChar <= '9') {
+            sideLength = sideLength * 10 + (currentChar - '0');
+            if (sideLength > Integer.MAX_VALUE) {
+                throw new ParseException("The side length is too large.", 0);
             }
+            digits++;
         }
-        return largestEmptySquare;
+        if (currentChar == '\r') {
+            currentChar = input.read();
+        }
+        if (digits == 0 || (currentChar != '\n' && currentChar != -1)) {
+            throw new ParseException("The side length must be an unsigned integer.", 0);
+        }
+        return (int) sideLength;
     }
 
-    private int les(boolean[][] matrix, int x, int y, Integer[][] memory) {
-        if (matrix[y][x]) {
-            return 0;
-        } else if (x == 0 || y == 0) {
-            return 1;
-        } else if (memory[y][x] == null) {
-            memory[y][x] = DSAP1Utils.min(
-                    les(matrix, x-1, y-1, memory),
-                    les(matrix, x-1, y, memory),
-                    les(matrix, x, y-1, memory)
-            ) + 1;
+    private void readLineEnding() throws IOException, ParseException {
+        int currentChar = input.read();
+        if (currentChar == '\r') {
+            currentChar = input.read();
+        }
+        if (currentChar == -1 && currentRow < sideLength - 1) {
+            throw new ParseException("The file is shorter than the specified length.", currentRow);
+        } else if (currentChar != '\n' && currentChar != -1) {
+            throw new ParseException("The current line is not the specified length.", currentRow);
         }
-        return memory[y][x];
     }
 }
 
-class IterativeLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
-    public int getLargestEmptySquare(boolean[][] matrix) {
-        Integer[][] memory = new Integer[matrix.length][matrix.length];
-        int largestEmptySquare = 0;
+/**
+ * A square matrix of booleans packed 64 to a word, one row after another. Each row starts on a fresh word, and bit
+ * (x % 64) of word (x / 64) in a row holds the cell in column x. Padding bits past the end of a row are always zero.
+ * The words may live on the heap or in a memory-mapped file.
+ */
+class PackedMatrix {
+    public int sideLength;
+    public int wordsPerRow;
+    private LongBuffer words;
+
+    public PackedMatrix(int sideLength) {
+        this(sideLength, LongBuffer.wrap(new long[sideLength * wordsPerRow(sideLength)]));
+    }
+
+    /**
+     * Wrap existing words, without copying them.
+     * @param sideLength The side length of the matrix
+     * @param words The packed rows of the matrix, starting at index 0
+     */
+    public PackedMatrix(int sideLength, LongBuffer words) {
+        this.sideLength = sideLength;
+        this.wordsPerRow = wordsPerRow(sideLength);
+        this.words = words;
+    }
+
+    public static int wordsPerRow(int sideLength) {
+        return (sideLength + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Pack a nested boolean array into a new packed matrix.
+     * @param matrix The square boolean matrix to pack.
+     * @return A packed matrix with the same contents.
+     */
+    public static PackedMatrix fromBooleanArray(boolean[][] matrix) {
+        PackedMatrix packed = new PackedMatrix(matrix.length);
         for (int y = 0; y < matrix.length; y++) {
-            for (int x = 0; x < matrix[0].length; x++) {
-                if (matrix[y][x]) {
-                    memory[y][x] = 0;
-                } else if (x == 0 || y == 0) {
-                    memory[y][x] = 1;
-                } else {
-                    memory[y][x] = DSAP1Utils.min(
-                            memory[y-1][x-1],
-                            memory[y][x-1],
-                            memory[y-1][x]
-                    ) + 1;
-                }
+            for (int x = 0; x < matrix.length; x++) {
+                packed.set(x, y, matrix[y][x]);
+            }
+        }
+        return packed;
+    }
 
-                if (memory[y][x] > largestEmptySquare) {
-                    largestEmptySquare = memory[y][x];
-                }
+    /**
+     * Unpack this matrix into a nested boolean array, for calculators that do not understand the packed form.
+     * @return A 2D boolean array with the same contents.
+     */
+    public boolean[][] toBooleanArray() {
+        boolean[][] matrix = new boolean[sideLength][sideLength];
+        for (int y = 0; y < sideLength; y++) {
+            for (int x = 0; x < sideLength; x++) {
+                matrix[y][x] = get(x, y);
             }
         }
-        return largestEmptySquare;
+        return matrix;
     }
-}
\ No newline at end of file
+
+    /**
+     * Copy this matrix into a new writable matrix on the heap, whatever its words are backed by.
+     * @return A packed matrix with the same contents.
+     */
+    public PackedMatrix copy() {
+        long[] copied = new long[sideLength * wordsPerRow];
+        LongBuffer source = words.duplicate();
+        source.clear();
+        source.get(copied);
+        return new PackedMatrix(sideLength, LongBuffer.wrap(copied));
+    }
+
+    public boolean get(int x, int y) {
+        return (words.get(y * wordsPerRow + (x >>> 6)) & (1L << x)) != 0;
+    }
+
+    /**
+     * Unpack one row of this matrix, a word at a time.
+     * @param y The index of the row to unpack
+     * @param cells The array to unpack the row into, of length sideLength
+     */
+    public void readRow(int y, boolean[] cells) {
+        for (int wordIndex = 0; wordIndex < wordsPerRow; wordIndex++) {
+            long word = words.get(y * wordsPerRow + wordIndex);
+            int end = Math.min(sideLength, (wordIndex + 1) * Long.SIZE);
+            for (int x = wordIndex * Long.SIZE; x < end; x++) {
+                cells[x] = (word & (1L << x)) != 0;
+            }
+        }
+    }
+
+    public void set(int x, int y, boolean value) {
+        int index = y * wordsPerRow + (x >>> 6);
+        if (value) {
+            words.put(index, words.get(index) | (1L << x));
+        } else {
+            words.put(index, words.get(index) & ~(1L << x));
+        }
+    }
+
+    public long getWord(int y, int wordIndex) {
+        return words.get(y * wordsPerRow + wordIndex);
+    }
+
+    public void setWord(int y, int wordIndex, long word) {
+        words.put(y * wordsPerRow + wordIndex, word);
+    }
+}
+
+/**
+ * A square matrix stored as the coordinates of its non-empty cells only.
+ */
+class SparseMatrix {
+    public int sideLength;
+    public int[] obstacleXs;
+    public int[] obstacleYs;
+
+    public SparseMatrix(int sideLength, int[] obstacleXs, int[] obstacleYs) {
+        this.sideLength = sideLength;
+        this.obstacleXs = obstacleXs;
+        this.obstacleYs = obstacleYs;
+    }
+
+    /**
+     * Collect the non-empty cells of a nested boolean array into a new sparse matrix.
+     * @param matrix The square boolean matrix to convert.
+     * @return A sparse matrix with the same contents.
+     */
+    public static SparseMatrix fromBooleanArray(boolean[][] matrix) {
+        int numberOfObstacles = 0;
+        for (boolean[] row : matrix) {
+            for (boolean cell : row) {
+                if (cell) numberOfObstacles++;
+            }
+        }
+
+        SparseMatrix sparse = new SparseMatrix(matrix.length, new int[numberOfObstacles], new int[numberOfObstacles]);
+        int i = 0;
+        for (int y = 0; y < matrix.length; y++) {
+            for (int x = 0; x < matrix.length; x++) {
+                if (matrix[y][x]) {
+                    sparse.obstacleXs[i] = x;
+                    sparse.obstacleYs[i] = y;
+                    i++;
+                }
+            }
+        }
+        return sparse;
+    }
+}
+
+/**
+ * A square matrix stored one row at a time as the lengths of alternating runs of empty and non-empty cells. The first
+ * run of each row is empty, and may have length zero.
+ */
+class RunLengthMatrix {
+    public int sideLength;
+    public int[][] runs;
+
+    public RunLengthMatrix(int sideLength, int[][] runs) {
+        this.sideLength = sideLength;
+        this.runs = runs;
+    }
+
+    /**
+     * Run-length encode a nested boolean array.
+     * @param matrix The square boolean matrix to encode.
+     * @return A run-length encoded matrix with the same contents.
+     */
+    public static RunLengthMatrix fromBooleanArray(boolean[][] matrix) {
+        int[][] runs = new int[matrix.length][];
+        int[] rowRuns = new int[matrix.length + 1];
+        for (int y = 0; y < matrix.length; y++) {
+            int numberOfRuns = 0;
+            int runStart = 0;
+            boolean occupied = false;
+            for (int x = 0; x <= matrix.length; x++) {
+                if (x == matrix.length || matrix[y][x] != occupied) {
+                    rowRuns[numberOfRuns++] = x - runStart;
+                    runStart = x;
+                    occupied = !occupied;
+                }
+            }
+            runs[y] = Arrays.copyOf(rowRuns, numberOfRuns);
+        }
+        return new RunLengthMatrix(matrix.length, runs);
+    }
+}
+
+/**
+ * Read-only access to the cells of a square matrix, whichever way it is stored.
+ */
+interface MatrixCells {
+    boolean isOccupied(int x, int y);
+}
+
+/**
+ * An axis-aligned rectangle of cells in a matrix, with inclusive bounds.
+ */
+class MatrixRectangle {
+    public int left;
+    public int top;
+    public int right;
+    public int bottom;
+
+    public MatrixRectangle(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+}
+
+/**
+ * Everything AnalyticsLargestEmptySquareCalculator learns about a matrix in one sweep.
+ */
+class EmptySquareStatistics {
+    public int largestEmptySquare;
+    // The top left corner of the first largest empty square found, scanning bottom right corners row by row
+    public int largestEmptySquareLeft;
+    public int largestEmptySquareTop;
+    // squaresWithCornerOfSize[s] counts the cells whose largest empty square with that bottom right corner has side s
+    public long[] squaresWithCornerOfSize;
+    // The number of empty squares of any size at any position
+    public long numberOfEmptySquares;
+
+    public EmptySquareStatistics(int sideLength) {
+        this.squaresWithCornerOfSize = new long[sideLength + 1];
+    }
+}
+
+interface LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix);
+
+    /**
+     * Get the largest empty square in a packed matrix. By default the matrix is unpacked first; calculators which
+     * can work on the packed form directly should override this.
+     * @param matrix The packed matrix of empty and non-empty cells
+     * @return The side length of the largest empty square
+     */
+    public default int getLargestEmptySquare(PackedMatrix matrix) {
+        return getLargestEmptySquare(matrix.toBooleanArray());
+    }
+
+    /**
+     * Whether this calculator overrides getLargestEmptySquare(PackedMatrix), so that loading a matrix packed saves
+     * memory rather than adding an unpacking step.
+     */
+    public default boolean readsPackedMatrices() {
+        return false;
+    }
+}
+
+class DSAP1Utils {
+    /**
+     * Get the smallest int int from a vararg list of ints.
+     * @param ints The ints to search for the smallest value.
+     * @return The smallest int in the list.
+     */
+    public static int min(int... ints) {
+        if (ints.length == 0) {
+            return 0;
+        }
+
+        int smallest = Integer.MAX_VALUE;
+        for(int i : ints) {
+            if (i < smallest) smallest = i;
+        }
+        return smallest;
+    }
+}
+
+class RecursiveLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        int largestEmptySquare = 0;
+        for (int y = 0; y < matrix.length; y++) {
+            for (int x = 0; x < matrix[0].length; x++) {
+                int s = les(matrix, x, y);
+                if (s > largestEmptySquare) {
+                    largestEmptySquare = s;
+                }
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    /**
+     * Get the side length of the largest empty square whose bottom right corner is at (x,y)
+     * @param matrix The matrix of empty and non-empty cells to find the largest empty square in
+     * @param x The x-coordinate of the bottom right corner of the largest empty square
+     * @param y The y-coordinate of the bottom right corner of the largest empty square
+     * @return The side length of the largest empty square in this position
+     */
+    private int les(boolean[][] matrix, int x, int y) {
+        if (matrix[y][x]) {
+            return 0;
+        } else if (x == 0 || y == 0) {
+            return 1;
+        } else {
+            return DSAP1Utils.min(
+                    les(matrix, x-1, y-1),
+                    les(matrix, x-1, y),
+                    les(matrix, x, y-1)
+            ) + 1;
+        }
+    }
+}
+
+class MemoizedLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        Integer[][] memory = new Integer[matrix.length][matrix.length];
+        int largestEmptySquare = 0;
+        for (int y = 0; y < matrix.length; y++) {
+            for (int x = 0; x < matrix[0].length; x++) {
+                int s = les(matrix, x, y, memory);
+                if (s > largestEmptySquare) {
+                    largestEmptySquare = s;
+                }
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    private int les(boolean[][] matrix, int x, int y, Integer[][] memory) {
+        if (matrix[y][x]) {
+            return 0;
+        } else if (x == 0 || y == 0) {
+            return 1;
+        } else if (memory[y][x] == null) {
+            memory[y][x] = DSAP1Utils.min(
+                    les(matrix, x-1, y-1, memory),
+                    les(matrix, x-1, y, memory),
+                    les(matrix, x, y-1, memory)
+            ) + 1;
+        }
+        return memory[y][x];
+    }
+}
+
+class IterativeLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getLargestEmptySquare(matrix.length, (x, y) -> matrix[y][x]);
+    }
+
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        return getLargestEmptySquare(matrix.sideLength, matrix::get);
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    private int getLargestEmptySquare(int sideLength, MatrixCells cells) {
+        int[][] memory = new int[sideLength][sideLength];
+        int largestEmptySquare = 0;
+        for (int y = 0; y < sideLength; y++) {
+            for (int x = 0; x < sideLength; x++) {
+                if (cells.isOccupied(x, y)) {
+                    memory[y][x] = 0;
+                } else if (x == 0 || y == 0) {
+                    memory[y][x] = 1;
+                } else {
+                    memory[y][x] = DSAP1Utils.min(
+                            memory[y-1][x-1],
+                            memory[y][x-1],
+                            memory[y-1][x]
+                    ) + 1;
+                }
+
+                if (memory[y][x] > largestEmptySquare) {
+                    largestEmptySquare = memory[y][x];
+                }
+            }
+        }
+        return largestEmptySquare;
+    }
+}
+
+/**
+ * An iterative calculator which only keeps the row of the table above the current cell. The row is updated in place,
+ * so the upper-left value of each cell is carried along in a single int before it is overwritten.
+ */
+class RollingIterativeLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        int[] row = new int[matrix.length];
+        int largestEmptySquare = 0;
+        for (int y = 0; y < matrix.length; y++) {
+            int s = updateRow(matrix[y], y, row);
+            if (s > largestEmptySquare) {
+                largestEmptySquare = s;
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        boolean[] cells = new boolean[matrix.sideLength];
+        int[] row = new int[matrix.sideLength];
+        int largestEmptySquare = 0;
+        for (int y = 0; y < matrix.sideLength; y++) {
+            matrix.readRow(y, cells);
+            int s = updateRow(cells, y, row);
+            if (s > largestEmptySquare) {
+                largestEmptySquare = s;
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    /**
+     * Advance the table by one row, overwriting the previous row in place.
+     * @param cells The cells of matrix row y
+     * @param y The index of the row being added
+     * @param row The table row for y - 1, which is replaced by the table row for y
+     * @return The side length of the largest empty square whose bottom right corner lies in row y
+     */
+    static int updateRow(boolean[] cells, int y, int[] row) {
+        int largestEmptySquare = 0;
+        int upperLeft = 0;
+        for (int x = 0; x < row.length; x++) {
+            int upper = row[x];
+            if (cells[x]) {
+                row[x] = 0;
+            } else if (x == 0 || y == 0) {
+                row[x] = 1;
+            } else {
+                row[x] = Math.min(Math.min(upperLeft, row[x-1]), upper) + 1;
+            }
+            upperLeft = upper;
+
+            if (row[x] > largestEmptySquare) {
+                largestEmptySquare = row[x];
+            }
+        }
+        return largestEmptySquare;
+    }
+}
+
+/**
+ * A calculator which consumes a matrix one row at a time, so only O(n) memory is needed however large the input is.
+ */
+class StreamingLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        int[] row = new int[matrix.length];
+        int largestEmptySquare = 0;
+        for (int y = 0; y < matrix.length; y++) {
+            largestEmptySquare = Math.max(largestEmptySquare, RollingIterativeLargestEmptySquareCalculator.updateRow(matrix[y], y, row));
+        }
+        return largestEmptySquare;
+    }
+
+    /**
+     * Get the largest empty square in a packed matrix one row at a time, so a memory-mapped matrix is never unpacked.
+     * @param matrix The packed matrix of empty and non-empty cells
+     * @return The side length of the largest empty square
+     */
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        boolean[] cells = new boolean[matrix.sideLength];
+        int[] row = new int[matrix.sideLength];
+        int largestEmptySquare = 0;
+        for (int y = 0; y < matrix.sideLength; y++) {
+            matrix.readRow(y, cells);
+            largestEmptySquare = Math.max(largestEmptySquare, RollingIterativeLargestEmptySquareCalculator.updateRow(cells, y, row));
+        }
+        return largestEmptySquare;
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    /**
+     * Get the largest empty square in a matrix which is read row by row, never holding more than one row of it.
+     * @param rows The reader to take the rows of the matrix from
+     * @return The side length of the largest empty square
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public int getLargestEmptySquare(MatrixRowReader rows) throws IOException, ParseException {
+        boolean[] cells = new boolean[rows.sideLength];
+        int[] row = new int[rows.sideLength];
+        int largestEmptySquare = 0;
+        for (int y = 0; rows.readRow(cells); y++) {
+            largestEmptySquare = Math.max(largestEmptySquare, RollingIterativeLargestEmptySquareCalculator.updateRow(cells, y, row));
+        }
+        return largestEmptySquare;
+    }
+}
+
+/**
+ * A calculator which splits the table into square tiles and computes each tile from only the bottom row of the tile
+ * above it, the right column of the tile to its left and the bottom right corner of the tile diagonally above it.
+ * Tiles on the same anti-diagonal of tiles are independent, so each such anti-diagonal is computed in parallel.
+ */
+class TiledLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    private ForkJoinPool pool;
+    private int tileSize;
+
+    public TiledLargestEmptySquareCalculator() {
+        // 256 x 256 cells keeps a tile's working set well inside a typical L2 cache
+        this(ForkJoinPool.commonPool(), 256);
+    }
+
+    /**
+     * @param pool The pool to compute tiles on
+     * @param tileSize The side length of each tile
+     */
+    public TiledLargestEmptySquareCalculator(ForkJoinPool pool, int tileSize) {
+        this.pool = pool;
+        this.tileSize = tileSize;
+    }
+
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getLargestEmptySquare(matrix.length, (x, y) -> matrix[y][x]);
+    }
+
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        return getLargestEmptySquare(matrix.sideLength, matrix::get);
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    private int getLargestEmptySquare(int sideLength, MatrixCells cells) {
+        int tilesPerSide = (sideLength + tileSize - 1) / tileSize;
+        TileBorders borders = new TileBorders(sideLength, tilesPerSide);
+        int largestEmptySquare = 0;
+
+        for (int d = 0; d < 2 * tilesPerSide - 1; d++) {
+            List<TileTask> tiles = new ArrayList<>();
+            for (int tileX = Math.max(0, d - tilesPerSide + 1); tileX <= Math.min(d, tilesPerSide - 1); tileX++) {
+                tiles.add(new TileTask(cells, sideLength, tileSize, tileX, d - tileX, borders));
+            }
+
+            int s = tiles.size() == 1 ? tiles.get(0).compute() : pool.invoke(new TileDiagonalTask(tiles));
+            if (s > largestEmptySquare) {
+                largestEmptySquare = s;
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    /**
+     * The values exchanged between neighbouring tiles. A tile only ever reads the borders written by tiles on the
+     * previous anti-diagonal of tiles, and only overwrites the entries belonging to its own row and column of tiles.
+     */
+    private static class TileBorders {
+        int tilesPerSide;
+        // The bottom row of the most recently computed tile in each column of tiles, indexed by x
+        int[] bottomRows;
+        // The right column of the most recently computed tile in each row of tiles, indexed by y
+        int[] rightColumns;
+        // The bottom right value of every tile
+        int[] corners;
+
+        TileBorders(int sideLength, int tilesPerSide) {
+            this.tilesPerSide = tilesPerSide;
+            this.bottomRows = new int[sideLength];
+            this.rightColumns = new int[sideLength];
+            this.corners = new int[tilesPerSide * tilesPerSide];
+        }
+    }
+
+    private static class TileDiagonalTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private List<TileTask> tiles;
+
+        TileDiagonalTask(List<TileTask> tiles) {
+            this.tiles = tiles;
+        }
+
+        protected Integer compute() {
+            int largestEmptySquare = 0;
+            for (TileTask tile : invokeAll(tiles)) {
+                largestEmptySquare = Math.max(largestEmptySquare, tile.join());
+            }
+            return largestEmptySquare;
+        }
+    }
+
+    private static class TileTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private MatrixCells cells;
+        private int sideLength, tileSize, tileX, tileY;
+        private TileBorders borders;
+
+        TileTask(MatrixCells cells, int sideLength, int tileSize, int tileX, int tileY, TileBorders borders) {
+            this.cells = cells;
+            this.sideLength = sideLength;
+            this.tileSize = tileSize;
+            this.tileX = tileX;
+            this.tileY = tileY;
+            this.borders = borders;
+        }
+
+        protected Integer compute() {
+            int x0 = tileX * tileSize, x1 = Math.min(sideLength, x0 + tileSize);
+            int y0 = tileY * tileSize, y1 = Math.min(sideLength, y0 + tileSize);
+            int width = x1 - x0;
+
+            // Start from the bottom row of the tile above; on the first row of tiles it is never read
+            int[] row = new int[width];
+            System.arraycopy(borders.bottomRows, x0, row, 0, width);
+
+            int upperLeft = tileX > 0 && tileY > 0 ? borders.corners[(tileY - 1) * borders.tilesPerSide + tileX - 1] : 0;
+            int largestEmptySquare = 0;
+
+            for (int y = y0; y < y1; y++) {
+                int left = tileX > 0 ? borders.rightColumns[y] : 0;
+                int nextUpperLeft = left;
+                for (int i = 0; i < width; i++) {
+                    int x = x0 + i;
+                    int upper = row[i];
+                    if (cells.isOccupied(x, y)) {
+                        row[i] = 0;
+                    } else if (x == 0 || y == 0) {
+                        row[i] = 1;
+                    } else {
+                        row[i] = Math.min(Math.min(upperLeft, left), upper) + 1;
+                    }
+                    upperLeft = upper;
+                    left = row[i];
+
+                    if (row[i] > largestEmptySquare) {
+                        largestEmptySquare = row[i];
+                    }
+                }
+                borders.rightColumns[y] = row[width - 1];
+                upperLeft = nextUpperLeft;
+            }
+
+            System.arraycopy(row, 0, borders.bottomRows, x0, width);
+            borders.corners[tileY * borders.tilesPerSide + tileX] = row[width - 1];
+            return largestEmptySquare;
+        }
+    }
+}
+
+/**
+ * A calculator whose cost depends on the number of obstacles k rather than the area of the matrix. It binary searches
+ * on the side length s: an s x s square fits if some top left corner is not ruled out by any obstacle, and each
+ * obstacle rules out an s x s block of top left corners. Whether those blocks cover every possible corner is checked
+ * with a sweep line over a segment tree, in O(k log k), so the whole search takes O(k log k log n).
+ */
+class SparseLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getLargestEmptySquare(SparseMatrix.fromBooleanArray(matrix));
+    }
+
+    public int getLargestEmptySquare(SparseMatrix matrix) {
+        int smallestImpossible = matrix.sideLength + 1;
+        int largestPossible = 0;
+        while (smallestImpossible - largestPossible > 1) {
+            int s = (largestPossible + smallestImpossible) >>> 1;
+            if (hasEmptySquare(matrix, s)) {
+                largestPossible = s;
+            } else {
+                smallestImpossible = s;
+            }
+        }
+        return largestPossible;
+    }
+
+    /**
+     * Check whether an empty square of the given side length exists anywhere in the matrix.
+     * @param matrix The sparse matrix to search
+     * @param s The side length of the square, between 1 and the side length of the matrix
+     * @return true if an empty s x s square exists
+     */
+    private boolean hasEmptySquare(SparseMatrix matrix, int s) {
+        // Top left corners range over [0, corners) in both dimensions
+        int corners = matrix.sideLength - s + 1;
+        int k = matrix.obstacleXs.length;
+
+        // Each obstacle at (x, y) rules out the corners in [x - s + 1, x] x [y - s + 1, y]
+        int[] yStarts = new int[k], yEnds = new int[k];
+        int[] ys = new int[2 * k + 2];
+        long[] events = new long[2 * k];
+        int numberOfEvents = 0, numberOfYs = 0;
+        ys[numberOfYs++] = 0;
+        ys[numberOfYs++] = corners;
+        for (int i = 0; i < k; i++) {
+            int xStart = Math.max(0, matrix.obstacleXs[i] - s + 1), xEnd = Math.min(corners, matrix.obstacleXs[i] + 1);
+            yStarts[i] = Math.max(0, matrix.obstacleYs[i] - s + 1);
+            yEnds[i] = Math.min(corners, matrix.obstacleYs[i] + 1);
+            if (xStart >= xEnd || yStarts[i] >= yEnds[i]) continue;
+
+            ys[numberOfYs++] = yStarts[i];
+            ys[numberOfYs++] = yEnds[i];
+            // Sort events by x, with removals (odd) after additions (even) at the same x
+            events[numberOfEvents++] = ((long) xStart << 32) | ((long) i << 1);
+            events[numberOfEvents++] = ((long) xEnd << 32) | ((long) i << 1) | 1;
+        }
+
+        // Compress the y coordinates so that the segment tree has one leaf per elementary interval
+        Arrays.sort(ys, 0, numberOfYs);
+        int distinctYs = 0;
+        for (int i = 0; i < numberOfYs; i++) {
+            if (ys[i] <= corners && (distinctYs == 0 || ys[i] != ys[distinctYs - 1])) {
+                ys[distinctYs++] = ys[i];
+            }
+        }
+        CoverageTree coverage = new CoverageTree(distinctYs - 1);
+
+        Arrays.sort(events, 0, numberOfEvents);
+        int sweptTo = 0;
+        for (int e = 0; e < numberOfEvents; e++) {
+            int x = (int) (events[e] >>> 32);
+            if (x > sweptTo) {
+                // Every corner in the slab [sweptTo, x) has the same coverage
+                if (coverage.minimum() == 0) return true;
+                sweptTo = x;
+            }
+            int i = (int) (events[e] & 0xFFFFFFFFL) >>> 1;
+            int delta = (events[e] & 1) == 0 ? 1 : -1;
+            coverage.add(
+                    Arrays.binarySearch(ys, 0, distinctYs, yStarts[i]),
+                    Arrays.binarySearch(ys, 0, distinctYs, yEnds[i]),
+                    delta
+            );
+        }
+        return sweptTo < corners && coverage.minimum() == 0;
+    }
+
+    /**
+     * A segment tree over a row of intervals which supports adding to a range and reading the overall minimum.
+     */
+    private static class CoverageTree {
+        private int size;
+        private int[] minimum;
+        private int[] pending;
+
+        CoverageTree(int size) {
+            this.size = size;
+            this.minimum = new int[4 * size];
+            this.pending = new int[4 * size];
+        }
+
+        int minimum() {
+            return minimum[1];
+        }
+
+        void add(int from, int to, int delta) {
+            add(1, 0, size, from, to, delta);
+        }
+
+        private void add(int node, int nodeFrom, int nodeTo, int from, int to, int delta) {
+            if (to <= nodeFrom || nodeTo <= from) return;
+            if (from <= nodeFrom && nodeTo <= to) {
+                minimum[node] += delta;
+                pending[node] += delta;
+                return;
+            }
+            int middle = (nodeFrom + nodeTo) >>> 1;
+            add(2 * node, nodeFrom, middle, from, to, delta);
+            add(2 * node + 1, middle, nodeTo, from, to, delta);
+            minimum[node] = Math.min(minimum[2 * node], minimum[2 * node + 1]) + pending[node];
+        }
+    }
+}
+
+/**
+ * A matrix which keeps its largest empty square up to date as cells are flipped. The full table of square sizes is
+ * kept, and after a flip only the cells below and to the right of it are recomputed, row by row, stopping as soon as a
+ * row comes out unchanged. A count of cells per square size makes reading the largest empty square O(1).
+ */
+class DynamicLargestEmptySquareMatrix {
+    private PackedMatrix cells;
+    private int[][] memory;
+    private int[] squaresOfSize;
+    private int largestEmptySquare = 0;
+
+    public DynamicLargestEmptySquareMatrix(boolean[][] matrix) {
+        initialise(PackedMatrix.fromBooleanArray(matrix));
+    }
+
+    /**
+     * @param matrix The initial matrix, which is copied so that later changes never write through to it
+     */
+    public DynamicLargestEmptySquareMatrix(PackedMatrix matrix) {
+        initialise(matrix.copy());
+    }
+
+    private void initialise(PackedMatrix matrix) {
+        this.cells = matrix;
+        this.memory = new int[matrix.sideLength][matrix.sideLength];
+        this.squaresOfSize = new int[matrix.sideLength + 1];
+
+        for (int y = 0; y < matrix.sideLength; y++) {
+            for (int x = 0; x < matrix.sideLength; x++) {
+                memory[y][x] = les(x, y);
+                squaresOfSize[memory[y][x]]++;
+                if (memory[y][x] > largestEmptySquare) {
+                    largestEmptySquare = memory[y][x];
+                }
+            }
+        }
+    }
+
+    public int getLargestEmptySquare() {
+        return largestEmptySquare;
+    }
+
+    public boolean isOccupied(int x, int y) {
+        return cells.get(x, y);
+    }
+
+    /**
+     * Mark a cell as empty or non-empty, updating the largest empty square.
+     * @param x The x-coordinate of the cell
+     * @param y The y-coordinate of the cell
+     * @param occupied true if the cell should be non-empty
+     */
+    public void set(int x, int y, boolean occupied) {
+        if (cells.get(x, y) == occupied) {
+            return;
+        }
+        cells.set(x, y, occupied);
+
+        // A changed cell at column c of one row can only change columns c and c + 1 of the next row directly, and
+        // further cells of that row through their left neighbours.
+        int from = x;
+        int to = x;
+        for (int row = y; row < cells.sideLength; row++) {
+            int firstChanged = -1;
+            int lastChanged = -1;
+            for (int column = from; column < cells.sideLength; column++) {
+                if (column > to && lastChanged != column - 1) {
+                    break;
+                }
+                int s = les(column, row);
+                if (s != memory[row][column]) {
+                    update(column, row, s);
+                    if (firstChanged < 0) {
+                        firstChanged = column;
+                    }
+                    lastChanged = column;
+                }
+            }
+
+            if (firstChanged < 0) {
+                break;
+            }
+            from = firstChanged;
+            to = lastChanged + 1;
+        }
+    }
+
+    /**
+     * Get the side length of the largest empty square whose bottom right corner is at (x,y), from the table
+     */
+    private int les(int x, int y) {
+        if (cells.get(x, y)) {
+            return 0;
+        } else if (x == 0 || y == 0) {
+            return 1;
+        } else {
+            return Math.min(Math.min(memory[y-1][x-1], memory[y][x-1]), memory[y-1][x]) + 1;
+        }
+    }
+
+    private void update(int x, int y, int s) {
+        squaresOfSize[memory[y][x]]--;
+        squaresOfSize[s]++;
+        memory[y][x] = s;
+
+        if (s > largestEmptySquare) {
+            largestEmptySquare = s;
+        }
+        while (largestEmptySquare > 0 && squaresOfSize[largestEmptySquare] == 0) {
+            largestEmptySquare--;
+        }
+    }
+}
+
+/**
+ * An index over a fixed matrix which answers "what is the largest empty square inside this rectangle" queries.
+ *
+ * The square table is built once. A square of side k fits inside a rectangle exactly when some cell at least k - 1
+ * cells from the rectangle's top and left edges has a table value of at least k, so each query binary searches on k
+ * using range maximum queries over a 2D segment tree of the table, taking O(log^3 n). A 2D prefix sum of obstacles
+ * answers obstacle-free rectangles in O(1).
+ */
+class LargestEmptySquareIndex {
+    private int sideLength;
+    // tree[n + y][n + x] holds the table value at (x, y); other entries hold the maximum of their two children
+    private int[][] tree;
+    // obstacles[y][x] holds the number of non-empty cells above and to the left of (x, y), exclusive
+    private int[][] obstacles;
+
+    public LargestEmptySquareIndex(boolean[][] matrix) {
+        int n = matrix.length;
+        this.sideLength = n;
+        this.tree = new int[2 * n][];
+        this.obstacles = new int[n + 1][n + 1];
+
+        int[] row = new int[n];
+        for (int y = 0; y < n; y++) {
+            RollingIterativeLargestEmptySquareCalculator.updateRow(matrix[y], y, row);
+            tree[n + y] = buildRow(row);
+
+            for (int x = 0; x < n; x++) {
+                obstacles[y + 1][x + 1] = obstacles[y][x + 1] + obstacles[y + 1][x] - obstacles[y][x] + (matrix[y][x] ? 1 : 0);
+            }
+        }
+
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = new int[2 * n];
+            for (int j = 1; j < 2 * n; j++) {
+                tree[i][j] = Math.max(tree[2 * i][j], tree[2 * i + 1][j]);
+            }
+        }
+    }
+
+    /**
+     * Get the side length of the largest empty square which lies entirely inside a rectangle.
+     * @param rectangle The rectangle to search, which must lie inside the matrix
+     * @return The side length of the largest empty square inside the rectangle
+     */
+    public int getLargestEmptySquare(MatrixRectangle rectangle) {
+        int longestPossible = Math.min(rectangle.right - rectangle.left, rectangle.bottom - rectangle.top) + 1;
+        if (countObstacles(rectangle) == 0) {
+            return longestPossible;
+        }
+
+        int smallestImpossible = longestPossible + 1;
+        int largestPossible = 0;
+        while (smallestImpossible - largestPossible > 1) {
+            int k = (largestPossible + smallestImpossible) >>> 1;
+            if (maximum(rectangle.left + k - 1, rectangle.top + k - 1, rectangle.right, rectangle.bottom) >= k) {
+                largestPossible = k;
+            } else {
+                smallestImpossible = k;
+            }
+        }
+        return largestPossible;
+    }
+
+    /**
+     * Answer a batch of queries against the same matrix.
+     * @param rectangles The rectangles to search
+     * @return The side length of the largest empty square inside each rectangle, in the same order
+     */
+    public int[] getLargestEmptySquares(List<MatrixRectangle> rectangles) {
+        int[] largestEmptySquares = new int[rectangles.size()];
+        for (int i = 0; i < largestEmptySquares.length; i++) {
+            largestEmptySquares[i] = getLargestEmptySquare(rectangles.get(i));
+        }
+        return largestEmptySquares;
+    }
+
+    private int[] buildRow(int[] values) {
+        int n = values.length;
+        int[] treeRow = new int[2 * n];
+        System.arraycopy(values, 0, treeRow, n, n);
+        for (int j = n - 1; j > 0; j--) {
+            treeRow[j] = Math.max(treeRow[2 * j], treeRow[2 * j + 1]);
+        }
+        return treeRow;
+    }
+
+    private int countObstacles(MatrixRectangle r) {
+        return obstacles[r.bottom + 1][r.right + 1] - obstacles[r.top][r.right + 1]
+                - obstacles[r.bottom + 1][r.left] + obstacles[r.top][r.left];
+    }
+
+    /**
+     * Get the largest table value in [left, right] x [top, bottom]
+     */
+    private int maximum(int left, int top, int right, int bottom) {
+        int largest = 0;
+        for (int lo = top + sideLength, hi = bottom + sideLength + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) largest = Math.max(largest, maximum(tree[lo++], left, right));
+            if ((hi & 1) == 1) largest = Math.max(largest, maximum(tree[--hi], left, right));
+        }
+        return largest;
+    }
+
+    private int maximum(int[] treeRow, int left, int right) {
+        int largest = 0;
+        for (int lo = left + sideLength, hi = right + sideLength + 1; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) largest = Math.max(largest, treeRow[lo++]);
+            if ((hi & 1) == 1) largest = Math.max(largest, treeRow[--hi]);
+        }
+        return largest;
+    }
+}
+
+/**
+ * A calculator which works on whole 64-cell words at a time. For a side length k, let S_k be the bitmap whose bit
+ * (x, y) is set when the k x k square with top left corner (x, y) is empty. A square of side a + b, with b <= a, is
+ * covered by the four squares of side a at offsets (0, 0), (b, 0), (0, b) and (b, b), so S_(a+b) is the AND of S_a
+ * shifted by those offsets. Starting from S_1, the empty cells, the side length is doubled while S stays non-empty and
+ * then grown by halving steps, so only O(log n) bitmaps of n^2 / 64 words are ever computed.
+ */
+class BitParallelLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getLargestEmptySquare(PackedMatrix.fromBooleanArray(matrix));
+    }
+
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        int n = matrix.sideLength;
+        int wordsPerRow = matrix.wordsPerRow;
+        long lastWordMask = n % Long.SIZE == 0 ? -1L : (1L << n) - 1;
+
+        long[] squares = new long[n * wordsPerRow];
+        for (int y = 0; y < n; y++) {
+            for (int wordIndex = 0; wordIndex < wordsPerRow; wordIndex++) {
+                long mask = wordIndex == wordsPerRow - 1 ? lastWordMask : -1L;
+                squares[y * wordsPerRow + wordIndex] = ~matrix.getWord(y, wordIndex) & mask;
+            }
+        }
+        if (isEmpty(squares)) {
+            return 0;
+        }
+
+        long[] candidate = new long[n * wordsPerRow];
+        long[] scratch = new long[wordsPerRow];
+        int largestEmptySquare = 1;
+
+        // Double the side length for as long as some square of that side is empty
+        while (2 * largestEmptySquare <= n) {
+            grow(squares, largestEmptySquare, candidate, scratch, n, wordsPerRow);
+            if (isEmpty(candidate)) {
+                break;
+            }
+            long[] recycled = squares;
+            squares = candidate;
+            candidate = recycled;
+            largestEmptySquare *= 2;
+        }
+
+        // Then fill in the lower bits of the answer, largest first
+        for (int step = largestEmptySquare / 2; step > 0; step /= 2) {
+            if (largestEmptySquare + step > n) {
+                continue;
+            }
+            grow(squares, step, candidate, scratch, n, wordsPerRow);
+            if (!isEmpty(candidate)) {
+                long[] recycled = squares;
+                squares = candidate;
+                candidate = recycled;
+                largestEmptySquare += step;
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    /**
+     * Compute S_(a+b) from S_a.
+     * @param squares The bitmap S_a
+     * @param step The amount b to grow the side length by, at most a
+     * @param grown The bitmap to write S_(a+b) into
+     * @param scratch A buffer of one row
+     */
+    private void grow(long[] squares, int step, long[] grown, long[] scratch, int n, int wordsPerRow) {
+        int wordShift = step >>> 6;
+        int bitShift = step & 63;
+
+        for (int y = 0; y < n; y++) {
+            int rowStart = y * wordsPerRow;
+            if (y + step >= n) {
+                Arrays.fill(grown, rowStart, rowStart + wordsPerRow, 0L);
+                continue;
+            }
+
+            int lowerRowStart = (y + step) * wordsPerRow;
+            for (int wordIndex = 0; wordIndex < wordsPerRow; wordIndex++) {
+                scratch[wordIndex] = squares[rowStart + wordIndex] & squares[lowerRowStart + wordIndex];
+            }
+
+            // Bit x of the shifted row is bit x + step of the scratch row
+            for (int wordIndex = 0; wordIndex < wordsPerRow; wordIndex++) {
+                int source = wordIndex + wordShift;
+                long low = source < wordsPerRow ? scratch[source] : 0L;
+                long high = source + 1 < wordsPerRow ? scratch[source + 1] : 0L;
+                long shifted = bitShift == 0 ? low : (low >>> bitShift) | (high << (Long.SIZE - bitShift));
+                grown[rowStart + wordIndex] = scratch[wordIndex] & shifted;
+            }
+        }
+    }
+
+    private boolean isEmpty(long[] bitmap) {
+        for (long word : bitmap) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+
+/**
+ * A memoized calculator which evaluates cells on demand, like MemoizedLargestEmptySquareCalculator, but keeps pending
+ * cells on an explicit work stack instead of the call stack, and memoizes into a primitive table. Cells are demanded
+ * starting from the bottom right corner, so the first demand walks the whole table top-down.
+ */
+class StackSafeMemoizedLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    private static final int UNKNOWN = -1;
+
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getLargestEmptySquare(matrix.length, (x, y) -> matrix[y][x]);
+    }
+
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        return getLargestEmptySquare(matrix.sideLength, matrix::get);
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    private int getLargestEmptySquare(int sideLength, MatrixCells cells) {
+        int[][] memory = new int[sideLength][sideLength];
+        for (int[] row : memory) {
+            Arrays.fill(row, UNKNOWN);
+        }
+
+        // Pending cells, as (x, y) pairs
+        int[] stack = new int[64];
+        int largestEmptySquare = 0;
+
+        for (int y = sideLength - 1; y >= 0; y--) {
+            for (int x = sideLength - 1; x >= 0; x--) {
+                int top = 0;
+                stack[top++] = x;
+                stack[top++] = y;
+
+                while (top > 0) {
+                    int currentX = stack[top - 2];
+                    int currentY = stack[top - 1];
+
+                    if (memory[currentY][currentX] != UNKNOWN) {
+                        top -= 2;
+                    } else if (cells.isOccupied(currentX, currentY)) {
+                        memory[currentY][currentX] = 0;
+                        top -= 2;
+                    } else if (currentX == 0 || currentY == 0) {
+                        memory[currentY][currentX] = 1;
+                        top -= 2;
+                    } else {
+                        int upperLeft = memory[currentY - 1][currentX - 1];
+                        int left = memory[currentY][currentX - 1];
+                        int upper = memory[currentY - 1][currentX];
+
+                        if (upperLeft != UNKNOWN && left != UNKNOWN && upper != UNKNOWN) {
+                            memory[currentY][currentX] = Math.min(Math.min(upperLeft, left), upper) + 1;
+                            top -= 2;
+                            continue;
+                        }
+
+                        // Leave this cell on the stack and come back to it once its neighbours are known
+                        if (top + 6 > stack.length) {
+                            stack = Arrays.copyOf(stack, stack.length * 2);
+                        }
+                        if (upperLeft == UNKNOWN) {
+                            stack[top++] = currentX - 1;
+                            stack[top++] = currentY - 1;
+                        }
+                        if (left == UNKNOWN) {
+                            stack[top++] = currentX - 1;
+                            stack[top++] = currentY;
+                        }
+                        if (upper == UNKNOWN) {
+                            stack[top++] = currentX;
+                            stack[top++] = currentY - 1;
+                        }
+                    }
+                }
+
+                if (memory[y][x] > largestEmptySquare) {
+                    largestEmptySquare = memory[y][x];
+                }
+            }
+        }
+        return largestEmptySquare;
+    }
+}
+
+/**
+ * A calculator which gathers EmptySquareStatistics in the same single row-by-row sweep as the iterative calculator.
+ * A cell whose largest empty square with that bottom right corner has side s is the bottom right corner of exactly s
+ * empty squares, one of each side from 1 to s, so the total number of empty squares is the sum of the table.
+ */
+class AnalyticsLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getStatistics(matrix).largestEmptySquare;
+    }
+
+    public int getLargestEmptySquare(PackedMatrix matrix) {
+        return getStatistics(matrix).largestEmptySquare;
+    }
+
+    public boolean readsPackedMatrices() {
+        return true;
+    }
+
+    public EmptySquareStatistics getStatistics(boolean[][] matrix) {
+        int[] row = new int[matrix.length];
+        EmptySquareStatistics statistics = new EmptySquareStatistics(matrix.length);
+        for (int y = 0; y < matrix.length; y++) {
+            addRow(matrix[y], y, row, statistics);
+        }
+        return statistics;
+    }
+
+    public EmptySquareStatistics getStatistics(PackedMatrix matrix) {
+        boolean[] cells = new boolean[matrix.sideLength];
+        int[] row = new int[matrix.sideLength];
+        EmptySquareStatistics statistics = new EmptySquareStatistics(matrix.sideLength);
+        for (int y = 0; y < matrix.sideLength; y++) {
+            matrix.readRow(y, cells);
+            addRow(cells, y, row, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Gather statistics about a matrix which is read row by row, never holding more than one row of it.
+     * @param rows The reader to take the rows of the matrix from
+     * @return The statistics of the whole matrix
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public EmptySquareStatistics getStatistics(MatrixRowReader rows) throws IOException, ParseException {
+        boolean[] cells = new boolean[rows.sideLength];
+        int[] row = new int[rows.sideLength];
+        EmptySquareStatistics statistics = new EmptySquareStatistics(rows.sideLength);
+        for (int y = 0; rows.readRow(cells); y++) {
+            addRow(cells, y, row, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Advance the table by one row with the rolling iterative calculator, then record the new row's values.
+     */
+    private void addRow(boolean[] cells, int y, int[] row, EmptySquareStatistics statistics) {
+        RollingIterativeLargestEmptySquareCalculator.updateRow(cells, y, row);
+
+        for (int x = 0; x < row.length; x++) {
+            statistics.squaresWithCornerOfSize[row[x]]++;
+            statistics.numberOfEmptySquares += row[x];
+            if (row[x] > statistics.largestEmptySquare) {
+                statistics.largestEmptySquare = row[x];
+                statistics.largestEmptySquareLeft = x - row[x] + 1;
+                statistics.largestEmptySquareTop = y - row[x] + 1;
+            }
+        }
+    }
+}
+
+/**
+ * A calculator which advances through each row a whole run at a time. Column heights are kept implicitly as the row of
+ * the last non-empty cell in each column, and only where that row changes from one column to the next, so a non-empty
+ * run replaces the boundaries it covers with a single one rather than writing every column. The largest empty square
+ * can grow by at most one per row, and a square one larger than the best so far must sit inside a single empty run, so
+ * empty runs no longer than the best so far are skipped, and longer ones are searched a boundary at a time.
+ */
+class RunLengthLargestEmptySquareCalculator implements LargestEmptySquareCalculator {
+    public int getLargestEmptySquare(boolean[][] matrix) {
+        return getLargestEmptySquare(RunLengthMatrix.fromBooleanArray(matrix));
+    }
+
+    public int getLargestEmptySquare(RunLengthMatrix matrix) {
+        // Maps the first column of each stretch of columns sharing a last non-empty row to that row
+        TreeMap<Integer, Integer> lastOccupiedRows = new TreeMap<>();
+        lastOccupiedRows.put(0, -1);
+        int largestEmptySquare = 0;
+
+        for (int y = 0; y < matrix.sideLength; y++) {
+            boolean grown = false;
+            boolean occupied = false;
+            int x = 0;
+            for (int run : matrix.runs[y]) {
+                if (occupied && run > 0) {
+                    int end = x + run;
+                    if (end < matrix.sideLength && !lastOccupiedRows.containsKey(end)) {
+                        lastOccupiedRows.put(end, lastOccupiedRows.floorEntry(end).getValue());
+                    }
+                    lastOccupiedRows.subMap(x, end).clear();
+                    lastOccupiedRows.put(x, y);
+                } else if (!occupied && !grown && run > largestEmptySquare) {
+                    grown = containsEmptySquare(lastOccupiedRows, matrix.sideLength, x, x + run, y, largestEmptySquare + 1);
+                    if (grown) {
+                        largestEmptySquare++;
+                    }
+                }
+                x += run;
+                occupied = !occupied;
+            }
+        }
+        return largestEmptySquare;
+    }
+
+    /**
+     * Look for a number of adjacent columns, all at least that tall, within an empty run.
+     * @param lastOccupiedRows The last non-empty row of each stretch of columns, keyed by the stretch's first column
+     * @param sideLength The side length of the matrix
+     * @param start The first column of the empty run
+     * @param end The column after the last column of the empty run
+     * @param y The row the empty run is in
+     * @param size The side length of the empty square to look for
+     * @return Whether an empty square of the given size has its bottom edge in the empty run
+     */
+    private static boolean containsEmptySquare(TreeMap<Integer, Integer> lastOccupiedRows, int sideLength, int start, int end, int y, int size) {
+        int tallColumns = 0;
+        Map.Entry<Integer, Integer> stretch = lastOccupiedRows.floorEntry(start);
+        while (stretch != null && stretch.getKey() < end) {
+            Map.Entry<Integer, Integer> next = lastOccupiedRows.higherEntry(stretch.getKey());
+            if (y - stretch.getValue() >= size) {
+                int stretchEnd = next == null ? sideLength : next.getKey();
+                tallColumns += Math.min(stretchEnd, end) - Math.max(stretch.getKey(), start);
+                if (tallColumns >= size) {
+                    return true;
+                }
+            } else {
+                tallColumns = 0;
+            }
+            stretch = next;
+        }
+        return false;
+    }
+}
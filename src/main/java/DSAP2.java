@@ -1,26 +1,47 @@
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Map;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class DSAP2 {
     public static void main(String[] args) {
         if (args.length < 2) {
             System.out.println("Not enough arguments were supplied.");
             printUsage();
+        } else if (Arrays.asList("o", "online").contains(stripHyphens(args[0]).toLowerCase())) {
+            try {
+                printRunningMaxProfits(Integer.parseInt(args[1]), System.in);
+            } catch (NumberFormatException e) {
+                System.err.println("Could not parse the stock change cost.");
+                System.err.println(e.getMessage());
+            } catch (IOException e) {
+                System.err.println("Could not read the input.");
+                System.err.println(e.getMessage());
+            } catch (ParseException e) {
+                System.err.println("Could not parse the input.");
+                System.err.println(e.getMessage());
+            }
         } else {
             MaximumCornerShopProfitCalculator calculator = getCalculationStrategyFromFlag(stripHyphens(args[0])).get();
             try {
-                InputStream input = Files.newInputStream(Paths.get(args[1]));
-                ProfitForecastLoader loader = new ProfitForecastLoader();
-                int maximumProfit = calculator.getMaxProfit(loader.deserializeInput(input));
+                int maximumProfit = getMaxProfit(calculator, args[1]);
                 System.out.print(maximumProfit);
             } catch (IOException e) {
                 System.err.println("Could not open file.");
@@ -32,6 +53,53 @@ public class DSAP2 {
         }
     }
 
+    /**
+     * Load a profit forecast in the form the calculator expects and find the maximum profit.
+     * @param calculator The calculator to use
+     * @param filename The path of the profit forecast file
+     * @return The maximum profit
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    private static int getMaxProfit(MaximumCornerShopProfitCalculator calculator, String filename) throws IOException, ParseException {
+        ProfitForecastLoader loader = new ProfitForecastLoader();
+
+        if (calculator instanceof IterativeMaximumCornerShopProfitCalculator) {
+            try (ProfitForecastDayReader days = loader.openDays(Paths.get(filename))) {
+                return ((IterativeMaximumCornerShopProfitCalculator) calculator).getMaxProfit(days);
+            }
+        } else {
+            return calculator.getMaxProfit(loader.deserializePrimitiveInput(Files.newInputStream(Paths.get(filename))));
+        }
+    }
+
+    /**
+     * Read days from an input one at a time, each as a line holding the umbrella profit then the suncream profit, and
+     * print the maximum profit so far after each one.
+     * @param stockChangeCost The cost of switching between items
+     * @param input The input to read days from
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if a line does not hold exactly two integers.
+     */
+    private static void printRunningMaxProfits(int stockChangeCost, InputStream input) throws IOException, ParseException {
+        OnlineMaximumCornerShopProfitCalculator calculator = new OnlineMaximumCornerShopProfitCalculator(stockChangeCost);
+        ProfitForecastTokenizer tokenizer = new ProfitForecastTokenizer(input);
+
+        while (!tokenizer.isAtEndOfInput()) {
+            if (tokenizer.isAtEndOfLine()) {
+                tokenizer.endLine();
+                continue;
+            }
+            int umbrellaProfit = tokenizer.nextInt();
+            int suncreamProfit = tokenizer.nextInt();
+            tokenizer.endLine();
+
+            calculator.accept(umbrellaProfit, suncreamProfit);
+            System.out.println(calculator.getCurrentMaxProfit());
+            System.out.flush();
+        }
+    }
+
     /**
      * Strip the hyphens from the beginning of a command-line flag
      * @param flag The hyphen-prefixed command-line flag
@@ -59,6 +127,14 @@ public class DSAP2 {
             return Optional.of(new MemoizedMaximumCornerShopProfitCalculator());
         } else if (Arrays.asList("i", "iterative").contains(lowerCaseFlag)) {
             return Optional.of(new IterativeMaximumCornerShopProfitCalculator());
+        } else if (Arrays.asList("k", "multi-product").contains(lowerCaseFlag)) {
+            return Optional.of(new MultiProductMaximumCornerShopProfitCalculator());
+        } else if (Arrays.asList("p", "parallel").contains(lowerCaseFlag)) {
+            return Optional.of(new ParallelMaximumCornerShopProfitCalculator());
+        } else if (Arrays.asList("c", "checkpointed").contains(lowerCaseFlag)) {
+            return Optional.of(new CheckpointedMaximumCornerShopProfitCalculator());
+        } else if (Arrays.asList("sm", "stack-memoized").contains(lowerCaseFlag)) {
+            return Optional.of(new StackSafeMemoizedMaximumCornerShopProfitCalculator());
         } else {
             return Optional.empty();
         }
@@ -72,6 +148,11 @@ public class DSAP2 {
         System.out.println("       dsap2 -r <filename>");
         System.out.println("       dsap2 -m <filename>");
         System.out.println("       dsap2 -i <filename>");
+        System.out.println("       dsap2 -o <stockChangeCost>");
+        System.out.println("       dsap2 -k <filename>");
+        System.out.println("       dsap2 -p <filename>");
+        System.out.println("       dsap2 -c <filename>");
+        System.out.println("       dsap2 -sm <filename>");
     }
 
 }
@@ -98,6 +179,296 @@ class ProfitForecast {
     }
 }
 
+/**
+ * A profit forecast held in primitive arrays, so that reading a day's profit involves no unboxing.
+ */
+class PrimitiveProfitForecast {
+    public ProfitForecastMetadata metadata;
+    public int[] umbrellaProfitForecast;
+    public int[] suncreamProfitForecast;
+
+    public PrimitiveProfitForecast(int[] umbrellaProfitForecast, int[] suncreamProfitForecast, ProfitForecastMetadata metadata) {
+        this.umbrellaProfitForecast = umbrellaProfitForecast;
+        this.suncreamProfitForecast = suncreamProfitForecast;
+        this.metadata = metadata;
+    }
+
+    public static PrimitiveProfitForecast fromProfitForecast(ProfitForecast forecast) {
+        return new PrimitiveProfitForecast(
+                forecast.umbrellaProfitForecast.stream().mapToInt(Integer::intValue).toArray(),
+                forecast.suncreamProfitForecast.stream().mapToInt(Integer::intValue).toArray(),
+                forecast.metadata
+        );
+    }
+}
+
+/**
+ * A profit forecast for any number of products, held day by day so that one day's profits are adjacent in memory.
+ */
+class MultiProductProfitForecast {
+    public int numberOfDays;
+    public int numberOfProducts;
+    // The profit of product p on day d is at profits[d * numberOfProducts + p]
+    public int[] profits;
+
+    public MultiProductProfitForecast(int numberOfDays, int numberOfProducts, int[] profits) {
+        this.numberOfDays = numberOfDays;
+        this.numberOfProducts = numberOfProducts;
+        this.profits = profits;
+    }
+
+    /**
+     * Convert a two-product forecast, with umbrellas as product 0 and suncream as product 1.
+     */
+    public static MultiProductProfitForecast fromPrimitiveProfitForecast(PrimitiveProfitForecast forecast) {
+        int numberOfDays = forecast.metadata.numberOfDays;
+        int[] profits = new int[2 * numberOfDays];
+        for (int day = 0; day < numberOfDays; day++) {
+            profits[2 * day] = forecast.umbrellaProfitForecast[day];
+            profits[2 * day + 1] = forecast.suncreamProfitForecast[day];
+        }
+        return new MultiProductProfitForecast(numberOfDays, 2, profits);
+    }
+
+    public int getProfit(int day, int product) {
+        return profits[day * numberOfProducts + product];
+    }
+}
+
+/**
+ * Many profit forecasts of the same length and stock change cost, held day by day so that one day's profits across
+ * every scenario are adjacent in memory.
+ */
+class MultiScenarioProfitForecast {
+    public int numberOfDays;
+    public int numberOfScenarios;
+    public int stockChangeCost;
+    // The profits of scenario i on day d are at umbrellaProfits[d * numberOfScenarios + i] and likewise for suncream
+    public int[] umbrellaProfits;
+    public int[] suncreamProfits;
+
+    public MultiScenarioProfitForecast(int numberOfDays, int numberOfScenarios, int stockChangeCost, int[] umbrellaProfits, int[] suncreamProfits) {
+        this.numberOfDays = numberOfDays;
+        this.numberOfScenarios = numberOfScenarios;
+        this.stockChangeCost = stockChangeCost;
+        this.umbrellaProfits = umbrellaProfits;
+        this.suncreamProfits = suncreamProfits;
+    }
+
+    /**
+     * Interleave separate forecasts, which must all have the same number of days and stock change cost.
+     */
+    public static MultiScenarioProfitForecast fromPrimitiveProfitForecasts(List<PrimitiveProfitForecast> forecasts) {
+        if (forecasts.isEmpty()) {
+            return new MultiScenarioProfitForecast(0, 0, 0, new int[0], new int[0]);
+        }
+
+        ProfitForecastMetadata metadata = forecasts.get(0).metadata;
+        int numberOfScenarios = forecasts.size();
+        int[] umbrellaProfits = new int[metadata.numberOfDays * numberOfScenarios];
+        int[] suncreamProfits = new int[metadata.numberOfDays * numberOfScenarios];
+
+        for (int scenario = 0; scenario < numberOfScenarios; scenario++) {
+            PrimitiveProfitForecast forecast = forecasts.get(scenario);
+            if (forecast.metadata.numberOfDays != metadata.numberOfDays || forecast.metadata.stockChangeCost != metadata.stockChangeCost) {
+                throw new IllegalArgumentException("Expected every scenario to have " + metadata.numberOfDays
+                        + " days and a stock change cost of " + metadata.stockChangeCost + ", but scenario " + scenario + " differs");
+            }
+            for (int day = 0; day < metadata.numberOfDays; day++) {
+                umbrellaProfits[day * numberOfScenarios + scenario] = forecast.umbrellaProfitForecast[day];
+                suncreamProfits[day * numberOfScenarios + scenario] = forecast.suncreamProfitForecast[day];
+            }
+        }
+        return new MultiScenarioProfitForecast(metadata.numberOfDays, numberOfScenarios, metadata.stockChangeCost, umbrellaProfits, suncreamProfits);
+    }
+}
+
+/**
+ * Reads whitespace-separated integers straight from the bytes of an input, one line at a time, without creating a
+ * String per token.
+ */
+class ProfitForecastTokenizer {
+    // Marks that the next byte has not been read yet, so that finishing a line never waits for the one after it
+    private static final int UNREAD = -2;
+
+    private InputStream input;
+    private int next = UNREAD;
+    private int currentLine = 0;
+
+    public ProfitForecastTokenizer(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Read the next integer on the current line.
+     * @return The integer read.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the current line has no more integers, or the next token is not an integer.
+     */
+    public int nextInt() throws IOException, ParseException {
+        skipHorizontalWhitespace();
+
+        boolean negative = peek() == '-';
+        if (negative) {
+            next = UNREAD;
+        }
+        int digit = peek();
+        if (digit < '0' || digit > '9') {
+            throw new ParseException("Expected an integer on line " + currentLine, currentLine);
+        }
+
+        long value = 0;
+        while (digit >= '0' && digit <= '9') {
+            value = value * 10 + (digit - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new ParseException("Integer out of range on line " + currentLine, currentLine);
+            }
+            next = UNREAD;
+            digit = peek();
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new ParseException("Integer out of range on line " + currentLine, currentLine);
+        }
+        return (int) value;
+    }
+
+    /**
+     * @return true if the current line has no more integers.
+     * @throws IOException if the input cannot be read.
+     */
+    public boolean isAtEndOfLine() throws IOException {
+        skipHorizontalWhitespace();
+        return next == '\r' || next == '\n' || next == -1;
+    }
+
+    /**
+     * @return true if the whole input has been read.
+     * @throws IOException if the input cannot be read.
+     */
+    public boolean isAtEndOfInput() throws IOException {
+        return peek() == -1;
+    }
+
+    /**
+     * Move on to the next line.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the current line has more integers.
+     */
+    public void endLine() throws IOException, ParseException {
+        if (!isAtEndOfLine()) {
+            throw new ParseException("Expected the end of line " + currentLine, currentLine);
+        }
+        finishLine();
+    }
+
+    /**
+     * Move on to the next line, discarding whatever is left of the current one.
+     * @throws IOException if the input cannot be read.
+     */
+    public void skipLine() throws IOException {
+        while (peek() != '\r' && next != '\n' && next != -1) {
+            next = UNREAD;
+        }
+        finishLine();
+    }
+
+    public int getCurrentLine() {
+        return currentLine;
+    }
+
+    /**
+     * Consume the terminator of the current line, reading no further than its last byte.
+     */
+    private void finishLine() throws IOException {
+        if (peek() == '\r') {
+            next = UNREAD;
+            if (peek() == '\n') {
+                next = UNREAD;
+            }
+        } else if (next == '\n') {
+            next = UNREAD;
+        }
+        currentLine++;
+    }
+
+    private void skipHorizontalWhitespace() throws IOException {
+        while (peek() == ' ' || next == '\t') {
+            next = UNREAD;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (next == UNREAD) {
+            next = input.read();
+        }
+        return next;
+    }
+}
+
+/**
+ * Reads a profit forecast definition file one day at a time. The umbrella and suncream forecasts are on different lines,
+ * so the file is opened twice and read with one cursor on each line, keeping memory constant however long it is.
+ */
+class ProfitForecastDayReader implements Closeable {
+    public ProfitForecastMetadata metadata;
+    public int umbrellaProfit;
+    public int suncreamProfit;
+    private InputStream umbrellaInput;
+    private InputStream suncreamInput;
+    private ProfitForecastTokenizer umbrellaTokenizer;
+    private ProfitForecastTokenizer suncreamTokenizer;
+    private int day = 0;
+
+    public ProfitForecastDayReader(Path path) throws IOException, ParseException {
+        try {
+            umbrellaInput = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+            umbrellaTokenizer = new ProfitForecastTokenizer(umbrellaInput);
+            metadata = new ProfitForecastLoader().deserializeMetadata(umbrellaTokenizer);
+
+            suncreamInput = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+            suncreamTokenizer = new ProfitForecastTokenizer(suncreamInput);
+            suncreamTokenizer.skipLine();
+            suncreamTokenizer.skipLine();
+        } catch (IOException | ParseException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read the profits of the next day into umbrellaProfit and suncreamProfit.
+     * @return true if a day was read, false if every day has already been read.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public boolean readDay() throws IOException, ParseException {
+        if (day == metadata.numberOfDays) {
+            if (!umbrellaTokenizer.isAtEndOfLine() || !suncreamTokenizer.isAtEndOfLine()) {
+                throw new ParseException(String.format("Expected %d items, found more", metadata.numberOfDays), day);
+            }
+            suncreamTokenizer.endLine();
+            if (!suncreamTokenizer.isAtEndOfInput()) {
+                throw new ParseException("The file is longer than the specified length.", -1);
+            }
+            return false;
+        }
+
+        if (umbrellaTokenizer.isAtEndOfLine() || suncreamTokenizer.isAtEndOfLine()) {
+            throw new ParseException(String.format("Expected %d items, found %d", metadata.numberOfDays, day), day);
+        }
+        umbrellaProfit = umbrellaTokenizer.nextInt();
+        suncreamProfit = suncreamTokenizer.nextInt();
+        day++;
+        return true;
+    }
+
+    public void close() throws IOException {
+        if (umbrellaInput != null) umbrellaInput.close();
+        if (suncreamInput != null) suncreamInput.close();
+    }
+}
+
 class ProfitForecastLoader {
 
     /**
@@ -121,6 +492,67 @@ class ProfitForecastLoader {
         }
     }
 
+    /**
+     * Deserialize a profit forecast definition file straight into primitive arrays.
+     * @param input A profit forecast file.
+     * @return A primitive profit forecast corresponding to the input file supplied.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public PrimitiveProfitForecast deserializePrimitiveInput(InputStream input) throws IOException, ParseException {
+        try (InputStream bufferedInput = new BufferedInputStream(input, 1 << 16)) {
+            ProfitForecastTokenizer tokenizer = new ProfitForecastTokenizer(bufferedInput);
+            ProfitForecastMetadata metadata = deserializeMetadata(tokenizer);
+            int[] umbrellaProfitForecast = deserializeProfitArray(tokenizer, metadata.numberOfDays);
+            int[] suncreamProfitForecast = deserializeProfitArray(tokenizer, metadata.numberOfDays);
+
+            if (!tokenizer.isAtEndOfInput()) {
+                throw new ParseException("The file is longer than the specified length.", -1);
+            }
+
+            return new PrimitiveProfitForecast(umbrellaProfitForecast, suncreamProfitForecast, metadata);
+        }
+    }
+
+    /**
+     * Open a profit forecast definition file for reading one day at a time.
+     * @param path The path of a profit forecast file.
+     * @return A reader positioned at the first day of the forecast.
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the metadata line cannot be parsed.
+     */
+    public ProfitForecastDayReader openDays(Path path) throws IOException, ParseException {
+        return new ProfitForecastDayReader(path);
+    }
+
+    ProfitForecastMetadata deserializeMetadata(ProfitForecastTokenizer tokenizer) throws IOException, ParseException {
+        int numberOfDays = tokenizer.nextInt();
+        int stockChangeCost = tokenizer.nextInt();
+        if (!tokenizer.isAtEndOfLine()) {
+            throw new ParseException("Expected 2 items in the metadata line", tokenizer.getCurrentLine());
+        }
+        tokenizer.endLine();
+
+        return new ProfitForecastMetadata(numberOfDays, stockChangeCost);
+    }
+
+    private int[] deserializeProfitArray(ProfitForecastTokenizer tokenizer, int numberOfItems) throws IOException, ParseException {
+        int[] profits = new int[numberOfItems];
+        for (int i = 0; i < numberOfItems; i++) {
+            if (tokenizer.isAtEndOfLine()) {
+                throw new ParseException(String.format("Expected %d items, found %d", numberOfItems, i), tokenizer.getCurrentLine());
+            }
+            profits[i] = tokenizer.nextInt();
+        }
+
+        if (!tokenizer.isAtEndOfLine()) {
+            throw new ParseException(String.format("Expected %d items, found more", numberOfItems), tokenizer.getCurrentLine());
+        }
+        tokenizer.endLine();
+
+        return profits;
+    }
+
     private ProfitForecastMetadata deserializeMetadata(String line) throws ParseException {
         // Break the line up by horizontal whitespace (\h)
         String[] tokens = line.trim().split("\\h+");
@@ -193,19 +625,27 @@ class DSAP2Utils {
 }
 
 interface MaximumCornerShopProfitCalculator {
-    int getMaxProfit(ProfitForecast forecast);
+    int getMaxProfit(PrimitiveProfitForecast forecast);
+
+    /**
+     * Get the maximum profit for a boxed forecast, by unboxing it once up front.
+     */
+    default int getMaxProfit(ProfitForecast forecast) {
+        return getMaxProfit(PrimitiveProfitForecast.fromProfitForecast(forecast));
+    }
+
     enum Item { UMBRELLA, SUNCREAM }
 }
 
 class RecursiveMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
-    public int getMaxProfit(ProfitForecast forecast) {
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
         return DSAP2Utils.max(
                 p(forecast.metadata.numberOfDays, Item.UMBRELLA, forecast),
                 p(forecast.metadata.numberOfDays, Item.SUNCREAM, forecast)
         );
     }
 
-    private int p(int days, Item finishOnItem, ProfitForecast forecast) {
+    private int p(int days, Item finishOnItem, PrimitiveProfitForecast forecast) {
         if (days == 0) return 0;
 
         else if (days > 0) switch (finishOnItem) {
@@ -213,12 +653,12 @@ class RecursiveMaximumCornerShopProfitCalculator implements MaximumCornerShopPro
                 return DSAP2Utils.max(
                         p(days - 1, Item.SUNCREAM, forecast) - forecast.metadata.stockChangeCost,
                         p(days - 1, Item.UMBRELLA, forecast)
-                ) + forecast.umbrellaProfitForecast.get(days - 1);
+                ) + forecast.umbrellaProfitForecast[days - 1];
             case SUNCREAM:
                 return DSAP2Utils.max(
                         p(days - 1, Item.SUNCREAM, forecast),
                         p(days - 1, Item.UMBRELLA, forecast) - forecast.metadata.stockChangeCost
-                ) + forecast.suncreamProfitForecast.get(days - 1);
+                ) + forecast.suncreamProfitForecast[days - 1];
         }
 
         throw new IllegalArgumentException("Expected days >= 1, found " + days);
@@ -226,7 +666,7 @@ class RecursiveMaximumCornerShopProfitCalculator implements MaximumCornerShopPro
 }
 
 class MemoizedMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
-    public int getMaxProfit(ProfitForecast forecast) {
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
         Integer[][] memory = new Integer[forecast.metadata.numberOfDays][2];
 
         return DSAP2Utils.max(
@@ -235,7 +675,7 @@ class MemoizedMaximumCornerShopProfitCalculator implements MaximumCornerShopProf
         );
     }
 
-    private int p(int days, Item finishOnItem, ProfitForecast forecast, Integer[][] memory) {
+    private int p(int days, Item finishOnItem, PrimitiveProfitForecast forecast, Integer[][] memory) {
         if (days == 0) return 0;
 
         else if (days > 0) switch (finishOnItem) {
@@ -245,7 +685,7 @@ class MemoizedMaximumCornerShopProfitCalculator implements MaximumCornerShopProf
                     memory[days - 1][0] = DSAP2Utils.max(
                             p(days - 1, Item.SUNCREAM, forecast, memory) - forecast.metadata.stockChangeCost,
                             p(days - 1, Item.UMBRELLA, forecast, memory)
-                    ) + forecast.umbrellaProfitForecast.get(days - 1);
+                    ) + forecast.umbrellaProfitForecast[days - 1];
                 }
                 // Return the result from cache
                 return memory[days - 1][0];
@@ -255,7 +695,7 @@ class MemoizedMaximumCornerShopProfitCalculator implements MaximumCornerShopProf
                     memory[days - 1][1] = DSAP2Utils.max(
                             p(days - 1, Item.SUNCREAM, forecast, memory),
                             p(days - 1, Item.UMBRELLA, forecast, memory) - forecast.metadata.stockChangeCost
-                    ) + forecast.suncreamProfitForecast.get(days - 1);
+                    ) + forecast.suncreamProfitForecast[days - 1];
                 }
                 // Return the result from cache
                 return memory[days - 1][1];
@@ -265,15 +705,946 @@ class MemoizedMaximumCornerShopProfitCalculator implements MaximumCornerShopProf
     }
 }
 
+/**
+ * A memoized calculator which evaluates states on demand, like MemoizedMaximumCornerShopProfitCalculator, but keeps
+ * pending states on an explicit work stack instead of the call stack, and memoizes into a primitive table. States are
+ * demanded starting from the final day, so only those the answer depends on are ever evaluated, and any number of days
+ * can be handled without a larger thread stack.
+ */
+class StackSafeMemoizedMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
+    // Profits may be negative, so mark unevaluated states with a value no real profit reaches
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
+        int numberOfDays = forecast.metadata.numberOfDays;
+        if (numberOfDays == 0) {
+            return 0;
+        }
+
+        int stockChangeCost = forecast.metadata.stockChangeCost;
+        // memory[2 * (days - 1) + item] holds the best profit over the first `days` days, finishing on the item,
+        // with umbrellas as item 0 and suncream as item 1
+        int[] memory = new int[2 * numberOfDays];
+        Arrays.fill(memory, UNKNOWN);
+
+        // Pending states, as indices into memory
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 2 * (numberOfDays - 1);
+        stack[top++] = 2 * (numberOfDays - 1) + 1;
+
+        while (top > 0) {
+            int state = stack[top - 1];
+            int day = state >> 1;
+            boolean suncream = (state & 1) == 1;
+
+            if (memory[state] != UNKNOWN) {
+                top--;
+                continue;
+            }
+
+            int previousUmbrella = 0;
+            int previousSuncream = 0;
+            if (day > 0) {
+                previousUmbrella = memory[2 * (day - 1)];
+                previousSuncream = memory[2 * (day - 1) + 1];
+
+                if (previousUmbrella == UNKNOWN || previousSuncream == UNKNOWN) {
+                    // Leave this state on the stack and come back to it once the previous day is known
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    if (previousUmbrella == UNKNOWN) {
+                        stack[top++] = 2 * (day - 1);
+                    }
+                    if (previousSuncream == UNKNOWN) {
+                        stack[top++] = 2 * (day - 1) + 1;
+                    }
+                    continue;
+                }
+            }
+
+            if (suncream) {
+                memory[state] = Math.max(previousUmbrella - stockChangeCost, previousSuncream) + forecast.suncreamProfitForecast[day];
+            } else {
+                memory[state] = Math.max(previousUmbrella, previousSuncream - stockChangeCost) + forecast.umbrellaProfitForecast[day];
+            }
+            top--;
+        }
+
+        return Math.max(memory[2 * (numberOfDays - 1)], memory[2 * (numberOfDays - 1) + 1]);
+    }
+}
+
+/**
+ * A bottom-up calculator which only keeps the best profit so far finishing on each item, so it needs O(1) memory on
+ * top of the forecast, or none at all when the forecast is read a day at a time.
+ */
 class IterativeMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
-    public int getMaxProfit(ProfitForecast forecast) {
-        return DSAP2Utils.max(
-                p(forecast.metadata.numberOfDays, Item.UMBRELLA, forecast),
-                p(forecast.metadata.numberOfDays, Item.SUNCREAM, forecast)
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
+        int stockChangeCost = forecast.metadata.stockChangeCost;
+        int umbrella = 0;
+        int suncream = 0;
+        for (int day = 0; day < forecast.metadata.numberOfDays; day++) {
+            int nextUmbrella = Math.max(umbrella, suncream - stockChangeCost) + forecast.umbrellaProfitForecast[day];
+            int nextSuncream = Math.max(umbrella - stockChangeCost, suncream) + forecast.suncreamProfitForecast[day];
+            umbrella = nextUmbrella;
+            suncream = nextSuncream;
+        }
+        return Math.max(umbrella, suncream);
+    }
+
+    /**
+     * Get the maximum profit for a forecast which is read one day at a time, never holding more than one day of it.
+     * @param days The reader to take the days of the forecast from
+     * @return The maximum profit
+     * @throws IOException if the input cannot be read.
+     * @throws ParseException if the input does not conform to the expected serialization format.
+     */
+    public int getMaxProfit(ProfitForecastDayReader days) throws IOException, ParseException {
+        OnlineMaximumCornerShopProfitCalculator calculator = new OnlineMaximumCornerShopProfitCalculator(days.metadata.stockChangeCost);
+        while (days.readDay()) {
+            calculator.accept(days.umbrellaProfit, days.suncreamProfit);
+        }
+        return calculator.getCurrentMaxProfit();
+    }
+}
+
+/**
+ * A calculator which is given a forecast one day at a time, with no need to know the number of days up front, and can
+ * give the maximum profit over the days so far after each one.
+ */
+class OnlineMaximumCornerShopProfitCalculator {
+    private int stockChangeCost;
+    private int umbrella = 0;
+    private int suncream = 0;
+    private int numberOfDays = 0;
+
+    public OnlineMaximumCornerShopProfitCalculator(int stockChangeCost) {
+        this.stockChangeCost = stockChangeCost;
+    }
+
+    /**
+     * Add the next day of the forecast.
+     * @param umbrellaProfit The forecast profit from umbrellas on that day
+     * @param suncreamProfit The forecast profit from suncream on that day
+     */
+    public void accept(int umbrellaProfit, int suncreamProfit) {
+        int nextUmbrella = Math.max(umbrella, suncream - stockChangeCost) + umbrellaProfit;
+        int nextSuncream = Math.max(umbrella - stockChangeCost, suncream) + suncreamProfit;
+        umbrella = nextUmbrella;
+        suncream = nextSuncream;
+        numberOfDays++;
+    }
+
+    /**
+     * Get the maximum profit over the days added so far.
+     */
+    public int getCurrentMaxProfit() {
+        return Math.max(umbrella, suncream);
+    }
+
+    public int getNumberOfDays() {
+        return numberOfDays;
+    }
+}
+
+/**
+ * A bottom-up calculator for any number of products K. With the same cost for every switch, the best way into a product
+ * is either to stay on it or to switch from the best product of the previous day, so each day takes O(K). With a
+ * matrix of switch costs each day takes O(K^2), computed four target products at a time over contiguous cost rows.
+ */
+class MultiProductMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
+        return getMaxProfit(MultiProductProfitForecast.fromPrimitiveProfitForecast(forecast), forecast.metadata.stockChangeCost);
+    }
+
+    /**
+     * Get the maximum profit when every switch between products costs the same.
+     * @param forecast The forecast for every product
+     * @param stockChangeCost The cost of switching from any product to any other
+     * @return The maximum profit
+     * @throws IllegalArgumentException if the forecast has no products, since the shop must stock one each day.
+     */
+    public int getMaxProfit(MultiProductProfitForecast forecast, int stockChangeCost) {
+        int numberOfProducts = requireProducts(forecast);
+        int[] best = new int[numberOfProducts];
+        int bestOfAll = 0;
+
+        for (int day = 0; day < forecast.numberOfDays; day++) {
+            int bestSwitch = bestOfAll - stockChangeCost;
+            int offset = day * numberOfProducts;
+            int nextBestOfAll = Integer.MIN_VALUE;
+            for (int product = 0; product < numberOfProducts; product++) {
+                best[product] = Math.max(best[product], bestSwitch) + forecast.profits[offset + product];
+                nextBestOfAll = Math.max(nextBestOfAll, best[product]);
+            }
+            bestOfAll = nextBestOfAll;
+        }
+        return bestOfAll;
+    }
+
+    /**
+     * Get the maximum profit when each switch between products has its own cost.
+     * @param forecast The forecast for every product
+     * @param switchCosts switchCosts[from][to] is the cost of switching from one product to another, normally with
+     *                    zeroes on the diagonal
+     * @return The maximum profit
+     * @throws IllegalArgumentException if the forecast has no products, since the shop must stock one each day.
+     */
+    public int getMaxProfit(MultiProductProfitForecast forecast, int[][] switchCosts) {
+        int numberOfProducts = requireProducts(forecast);
+
+        // Transpose the costs so that the costs into one product are contiguous
+        int[] costsInto = new int[numberOfProducts * numberOfProducts];
+        for (int from = 0; from < numberOfProducts; from++) {
+            for (int to = 0; to < numberOfProducts; to++) {
+                costsInto[to * numberOfProducts + from] = switchCosts[from][to];
+            }
+        }
+
+        int[] best = new int[numberOfProducts];
+        int[] next = new int[numberOfProducts];
+        for (int day = 0; day < forecast.numberOfDays; day++) {
+            int offset = day * numberOfProducts;
+            int to = 0;
+            for (; to + 4 <= numberOfProducts; to += 4) {
+                int into0 = to * numberOfProducts;
+                int into1 = into0 + numberOfProducts;
+                int into2 = into1 + numberOfProducts;
+                int into3 = into2 + numberOfProducts;
+                int best0 = Integer.MIN_VALUE, best1 = Integer.MIN_VALUE, best2 = Integer.MIN_VALUE, best3 = Integer.MIN_VALUE;
+                for (int from = 0; from < numberOfProducts; from++) {
+                    int previous = best[from];
+                    best0 = Math.max(best0, previous - costsInto[into0 + from]);
+                    best1 = Math.max(best1, previous - costsInto[into1 + from]);
+                    best2 = Math.max(best2, previous - costsInto[into2 + from]);
+                    best3 = Math.max(best3, previous - costsInto[into3 + from]);
+                }
+                next[to] = best0 + forecast.profits[offset + to];
+                next[to + 1] = best1 + forecast.profits[offset + to + 1];
+                next[to + 2] = best2 + forecast.profits[offset + to + 2];
+                next[to + 3] = best3 + forecast.profits[offset + to + 3];
+            }
+            for (; to < numberOfProducts; to++) {
+                int into = to * numberOfProducts;
+                int bestInto = Integer.MIN_VALUE;
+                for (int from = 0; from < numberOfProducts; from++) {
+                    bestInto = Math.max(bestInto, best[from] - costsInto[into + from]);
+                }
+                next[to] = bestInto + forecast.profits[offset + to];
+            }
+
+            int[] recycled = best;
+            best = next;
+            next = recycled;
+        }
+
+        int bestOfAll = Integer.MIN_VALUE;
+        for (int value : best) {
+            bestOfAll = Math.max(bestOfAll, value);
+        }
+        return bestOfAll;
+    }
+
+    private static int requireProducts(MultiProductProfitForecast forecast) {
+        if (forecast.numberOfProducts < 1) {
+            throw new IllegalArgumentException("Expected numberOfProducts >= 1, found " + forecast.numberOfProducts);
+        }
+        return forecast.numberOfProducts;
+    }
+}
+
+/**
+ * A 2x2 matrix over the max-plus semiring, mapping the best profits finishing on each item before some run of days to
+ * the best profits finishing on each item after it. Matrices for consecutive runs of days combine associatively, so a
+ * forecast can be reduced in any grouping.
+ */
+class MaxPlusMatrix {
+    // Stands in for an unreachable state, far enough from Long.MIN_VALUE that adding two of them cannot overflow
+    public static final long NEGATIVE_INFINITY = Long.MIN_VALUE / 4;
+    public static final MaxPlusMatrix IDENTITY = new MaxPlusMatrix(0, NEGATIVE_INFINITY, NEGATIVE_INFINITY, 0);
+
+    // Each entry is the best profit over the run finishing on the first item, given a start on the second
+    public final long umbrellaFromUmbrella;
+    public final long umbrellaFromSuncream;
+    public final long suncreamFromUmbrella;
+    public final long suncreamFromSuncream;
+
+    public MaxPlusMatrix(long umbrellaFromUmbrella, long umbrellaFromSuncream, long suncreamFromUmbrella, long suncreamFromSuncream) {
+        this.umbrellaFromUmbrella = umbrellaFromUmbrella;
+        this.umbrellaFromSuncream = umbrellaFromSuncream;
+        this.suncreamFromUmbrella = suncreamFromUmbrella;
+        this.suncreamFromSuncream = suncreamFromSuncream;
+    }
+
+    /**
+     * Get the matrix for a single day.
+     */
+    public static MaxPlusMatrix forDay(int umbrellaProfit, int suncreamProfit, int stockChangeCost) {
+        return new MaxPlusMatrix(
+                umbrellaProfit, umbrellaProfit - (long) stockChangeCost,
+                suncreamProfit - (long) stockChangeCost, suncreamProfit
         );
     }
 
-    private int p(int days, Item finishOnItem, ProfitForecast forecast) {
-        return 0;
+    /**
+     * Get the matrix for the days in [from, to) of a forecast, folding in one day at a time.
+     */
+    public static MaxPlusMatrix forDays(PrimitiveProfitForecast forecast, int from, int to) {
+        if (from >= to) {
+            return IDENTITY;
+        }
+
+        long stockChangeCost = forecast.metadata.stockChangeCost;
+        // Each column follows the ordinary recurrence from one starting item
+        long umbrellaFromUmbrella = forecast.umbrellaProfitForecast[from];
+        long suncreamFromUmbrella = forecast.suncreamProfitForecast[from] - stockChangeCost;
+        long umbrellaFromSuncream = forecast.umbrellaProfitForecast[from] - stockChangeCost;
+        long suncreamFromSuncream = forecast.suncreamProfitForecast[from];
+
+        for (int day = from + 1; day < to; day++) {
+            long umbrellaProfit = forecast.umbrellaProfitForecast[day];
+            long suncreamProfit = forecast.suncreamProfitForecast[day];
+
+            long nextUmbrellaFromUmbrella = Math.max(umbrellaFromUmbrella, suncreamFromUmbrella - stockChangeCost) + umbrellaProfit;
+            long nextSuncreamFromUmbrella = Math.max(umbrellaFromUmbrella - stockChangeCost, suncreamFromUmbrella) + suncreamProfit;
+            long nextUmbrellaFromSuncream = Math.max(umbrellaFromSuncream, suncreamFromSuncream - stockChangeCost) + umbrellaProfit;
+            long nextSuncreamFromSuncream = Math.max(umbrellaFromSuncream - stockChangeCost, suncreamFromSuncream) + suncreamProfit;
+
+            umbrellaFromUmbrella = nextUmbrellaFromUmbrella;
+            suncreamFromUmbrella = nextSuncreamFromUmbrella;
+            umbrellaFromSuncream = nextUmbrellaFromSuncream;
+            suncreamFromSuncream = nextSuncreamFromSuncream;
+        }
+        return new MaxPlusMatrix(umbrellaFromUmbrella, umbrellaFromSuncream, suncreamFromUmbrella, suncreamFromSuncream);
+    }
+
+    /**
+     * Get the matrix for the days covered by this matrix followed by the days covered by another.
+     * @param later The matrix for the days immediately after these
+     * @return The combined matrix
+     */
+    public MaxPlusMatrix then(MaxPlusMatrix later) {
+        return new MaxPlusMatrix(
+                add(later.umbrellaFromUmbrella, umbrellaFromUmbrella, later.umbrellaFromSuncream, suncreamFromUmbrella),
+                add(later.umbrellaFromUmbrella, umbrellaFromSuncream, later.umbrellaFromSuncream, suncreamFromSuncream),
+                add(later.suncreamFromUmbrella, umbrellaFromUmbrella, later.suncreamFromSuncream, suncreamFromUmbrella),
+                add(later.suncreamFromUmbrella, umbrellaFromSuncream, later.suncreamFromSuncream, suncreamFromSuncream)
+        );
+    }
+
+    /**
+     * Get the best profit over the days covered by this matrix, starting with nothing and on either item.
+     */
+    public long maxProfit() {
+        return Math.max(
+                Math.max(umbrellaFromUmbrella, umbrellaFromSuncream),
+                Math.max(suncreamFromUmbrella, suncreamFromSuncream)
+        );
+    }
+
+    private static long add(long a1, long b1, long a2, long b2) {
+        return Math.max(NEGATIVE_INFINITY, Math.max(a1 + b1, a2 + b2));
+    }
+}
+
+/**
+ * A calculator which splits the forecast into chunks, reduces each chunk to its max-plus matrix in parallel and
+ * combines the matrices, so the days need not be visited in order.
+ */
+class ParallelMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
+    private ForkJoinPool pool;
+    private int chunkSize;
+
+    public ParallelMaximumCornerShopProfitCalculator() {
+        this(ForkJoinPool.commonPool(), 1 << 16);
+    }
+
+    /**
+     * @param pool The pool to reduce chunks on
+     * @param chunkSize The number of days reduced by a single task
+     */
+    public ParallelMaximumCornerShopProfitCalculator(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
+        ReductionTask task = new ReductionTask(forecast, chunkSize, 0, forecast.metadata.numberOfDays);
+        MaxPlusMatrix matrix = task.hi - task.lo > chunkSize ? pool.invoke(task) : task.compute();
+        return (int) matrix.maxProfit();
+    }
+
+    /**
+     * Reduces the days in [lo, hi) to their max-plus matrix.
+     */
+    private static class ReductionTask extends RecursiveTask<MaxPlusMatrix> {
+        private static final long serialVersionUID = 1L;
+
+        private PrimitiveProfitForecast forecast;
+        private int chunkSize, lo, hi;
+
+        ReductionTask(PrimitiveProfitForecast forecast, int chunkSize, int lo, int hi) {
+            this.forecast = forecast;
+            this.chunkSize = chunkSize;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected MaxPlusMatrix compute() {
+            if (hi - lo <= chunkSize) {
+                return MaxPlusMatrix.forDays(forecast, lo, hi);
+            }
+
+            int mid = (lo + hi) >>> 1;
+            ReductionTask earlier = new ReductionTask(forecast, chunkSize, lo, mid);
+            ReductionTask later = new ReductionTask(forecast, chunkSize, mid, hi);
+            later.fork();
+            MaxPlusMatrix earlierMatrix = earlier.compute();
+            return earlierMatrix.then(later.join());
+        }
+    }
+}
+
+/**
+ * An index over a profit forecast which answers the maximum profit, overall or over a range of days, after single-day
+ * changes to the forecast. Each node of a segment tree holds the max-plus matrix for its days, so a change or a query
+ * touches O(log n) nodes.
+ */
+class MaximumCornerShopProfitIndex {
+    private int stockChangeCost;
+    private int[] umbrellaProfitForecast;
+    private int[] suncreamProfitForecast;
+    // The number of leaves, a power of two; tree[leaves + d] holds the matrix for day d
+    private int leaves;
+    private MaxPlusMatrix[] tree;
+
+    public MaximumCornerShopProfitIndex(ProfitForecast forecast) {
+        this(PrimitiveProfitForecast.fromProfitForecast(forecast));
+    }
+
+    public MaximumCornerShopProfitIndex(PrimitiveProfitForecast forecast) {
+        int numberOfDays = forecast.metadata.numberOfDays;
+        this.stockChangeCost = forecast.metadata.stockChangeCost;
+        this.umbrellaProfitForecast = Arrays.copyOf(forecast.umbrellaProfitForecast, numberOfDays);
+        this.suncreamProfitForecast = Arrays.copyOf(forecast.suncreamProfitForecast, numberOfDays);
+
+        this.leaves = 1;
+        while (leaves < numberOfDays) {
+            leaves *= 2;
+        }
+        this.tree = new MaxPlusMatrix[2 * leaves];
+        Arrays.fill(tree, MaxPlusMatrix.IDENTITY);
+
+        for (int day = 0; day < numberOfDays; day++) {
+            tree[leaves + day] = MaxPlusMatrix.forDay(umbrellaProfitForecast[day], suncreamProfitForecast[day], stockChangeCost);
+        }
+        for (int i = leaves - 1; i > 0; i--) {
+            tree[i] = tree[2 * i].then(tree[2 * i + 1]);
+        }
+    }
+
+    public int getNumberOfDays() {
+        return umbrellaProfitForecast.length;
+    }
+
+    /**
+     * Change the forecast profit of one item on one day.
+     * @param day The day to change, counting from 0
+     * @param item The item whose profit changes
+     * @param profit The new forecast profit
+     */
+    public void updateDay(int day, MaximumCornerShopProfitCalculator.Item item, int profit) {
+        if (day < 0 || day >= getNumberOfDays()) {
+            throw new IndexOutOfBoundsException("Expected a day in [0, " + getNumberOfDays() + "), found " + day);
+        }
+
+        switch (item) {
+            case UMBRELLA:
+                umbrellaProfitForecast[day] = profit;
+                break;
+            case SUNCREAM:
+                suncreamProfitForecast[day] = profit;
+                break;
+        }
+
+        int i = leaves + day;
+        tree[i] = MaxPlusMatrix.forDay(umbrellaProfitForecast[day], suncreamProfitForecast[day], stockChangeCost);
+        for (i /= 2; i > 0; i /= 2) {
+            tree[i] = tree[2 * i].then(tree[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Get the maximum profit over the whole forecast.
+     */
+    public int getMaxProfit() {
+        return (int) tree[1].maxProfit();
+    }
+
+    /**
+     * Get the maximum profit when trading only over a range of days.
+     * @param firstDay The first day to trade on, counting from 0
+     * @param lastDay The last day to trade on, inclusive
+     * @return The maximum profit over those days
+     */
+    public int getMaxProfit(int firstDay, int lastDay) {
+        if (firstDay < 0 || lastDay >= getNumberOfDays() || firstDay > lastDay + 1) {
+            throw new IndexOutOfBoundsException("Expected days in [0, " + getNumberOfDays() + "), found " + firstDay + " to " + lastDay);
+        }
+
+        MaxPlusMatrix earlier = MaxPlusMatrix.IDENTITY;
+        MaxPlusMatrix later = MaxPlusMatrix.IDENTITY;
+        for (int lo = leaves + firstDay, hi = leaves + lastDay + 1; lo < hi; lo /= 2, hi /= 2) {
+            if ((lo & 1) == 1) {
+                earlier = earlier.then(tree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                later = tree[--hi].then(later);
+            }
+        }
+        return (int) earlier.then(later).maxProfit();
+    }
+}
+
+/**
+ * An optimal stocking plan: the item to stock on each day, and the profit it makes.
+ */
+class CornerShopSchedule {
+    public int numberOfDays;
+    public int maxProfit;
+    // Bit d is set when suncream is stocked on day d, and clear when umbrellas are
+    public BitSet suncreamDays;
+
+    public CornerShopSchedule(int numberOfDays, int maxProfit, BitSet suncreamDays) {
+        this.numberOfDays = numberOfDays;
+        this.maxProfit = maxProfit;
+        this.suncreamDays = suncreamDays;
+    }
+
+    public MaximumCornerShopProfitCalculator.Item getItem(int day) {
+        return suncreamDays.get(day) ? MaximumCornerShopProfitCalculator.Item.SUNCREAM : MaximumCornerShopProfitCalculator.Item.UMBRELLA;
+    }
+}
+
+/**
+ * A bottom-up calculator which can also recover an optimal plan. Rather than keeping a choice for every day, it keeps
+ * the best profits at the start of every block of about sqrt(n) days, and while tracing the plan backwards recomputes
+ * one block at a time from its checkpoint, so it needs O(sqrt(n)) memory on top of the plan itself.
+ */
+class CheckpointedMaximumCornerShopProfitCalculator implements MaximumCornerShopProfitCalculator {
+    public int getMaxProfit(PrimitiveProfitForecast forecast) {
+        return getSchedule(forecast).maxProfit;
+    }
+
+    /**
+     * Get an optimal plan for a forecast.
+     * @param forecast The forecast to plan for
+     * @return The plan, with its profit
+     */
+    public CornerShopSchedule getSchedule(PrimitiveProfitForecast forecast) {
+        int numberOfDays = forecast.metadata.numberOfDays;
+        int stockChangeCost = forecast.metadata.stockChangeCost;
+        int blockSize = Math.max(1, (int) Math.ceil(Math.sqrt(numberOfDays)));
+        int numberOfBlocks = (numberOfDays + blockSize - 1) / blockSize;
+
+        // The best profits finishing on each item just before the first day of each block
+        int[] umbrellaCheckpoints = new int[numberOfBlocks];
+        int[] suncreamCheckpoints = new int[numberOfBlocks];
+        int umbrella = 0;
+        int suncream = 0;
+        for (int day = 0; day < numberOfDays; day++) {
+            if (day % blockSize == 0) {
+                umbrellaCheckpoints[day / blockSize] = umbrella;
+                suncreamCheckpoints[day / blockSize] = suncream;
+            }
+            int nextUmbrella = Math.max(umbrella, suncream - stockChangeCost) + forecast.umbrellaProfitForecast[day];
+            int nextSuncream = Math.max(umbrella - stockChangeCost, suncream) + forecast.suncreamProfitForecast[day];
+            umbrella = nextUmbrella;
+            suncream = nextSuncream;
+        }
+
+        BitSet suncreamDays = new BitSet(numberOfDays);
+        boolean onSuncream = suncream > umbrella;
+        // blockUmbrella[k] and blockSuncream[k] hold the best profits after the first k days of the block
+        int[] blockUmbrella = new int[blockSize + 1];
+        int[] blockSuncream = new int[blockSize + 1];
+
+        for (int block = numberOfBlocks - 1; block >= 0; block--) {
+            int firstDay = block * blockSize;
+            int length = Math.min(blockSize, numberOfDays - firstDay);
+
+            blockUmbrella[0] = umbrellaCheckpoints[block];
+            blockSuncream[0] = suncreamCheckpoints[block];
+            for (int k = 1; k <= length; k++) {
+                int day = firstDay + k - 1;
+                blockUmbrella[k] = Math.max(blockUmbrella[k - 1], blockSuncream[k - 1] - stockChangeCost) + forecast.umbrellaProfitForecast[day];
+                blockSuncream[k] = Math.max(blockUmbrella[k - 1] - stockChangeCost, blockSuncream[k - 1]) + forecast.suncreamProfitForecast[day];
+            }
+
+            // Walk back through the block, choosing the item on the previous day which the best profit came from
+            for (int k = length; k >= 1; k--) {
+                if (onSuncream) {
+                    suncreamDays.set(firstDay + k - 1);
+                    onSuncream = blockSuncream[k - 1] >= blockUmbrella[k - 1] - stockChangeCost;
+                } else {
+                    onSuncream = blockSuncream[k - 1] - stockChangeCost > blockUmbrella[k - 1];
+                }
+            }
+        }
+
+        return new CornerShopSchedule(numberOfDays, Math.max(umbrella, suncream), suncreamDays);
+    }
+}
+
+/**
+ * The maximum profit of a forecast as a function of the stock change cost, over a range of costs. Every plan makes its
+ * profit before switching costs, less the cost times its number of switches, so the maximum is the upper envelope of
+ * those lines: convex, piecewise linear and decreasing. The envelope is found by repeatedly evaluating the forecast
+ * where two known lines cross. That takes 2b + 2 passes over the forecast for the b breakpoints inside the range, after
+ * which any cost in the range is answered by binary search. Each pass costs a few times a plain getMaxProfit run, and
+ * random forecasts can have a breakpoint at nearly every integer cost, so this only pays off against separate
+ * getMaxProfit runs when the range is narrow compared with the number of queries.
+ */
+class SwitchCostProfitCurve {
+    private int minCost;
+    private int maxCost;
+    // The lines of the envelope in order of increasing cost, so with strictly decreasing numbers of switches
+    private long[] baseProfits;
+    private int[] switches;
+
+    public SwitchCostProfitCurve(ProfitForecast forecast, int minCost, int maxCost) {
+        this(PrimitiveProfitForecast.fromProfitForecast(forecast), minCost, maxCost);
+    }
+
+    /**
+     * @param forecast The forecast, whose stock change cost is ignored
+     * @param minCost The smallest stock change cost the curve will be asked about
+     * @param maxCost The largest stock change cost the curve will be asked about
+     * @throws ArithmeticException if the forecast is too long or its profits too large for exact arithmetic in a long.
+     */
+    public SwitchCostProfitCurve(PrimitiveProfitForecast forecast, int minCost, int maxCost) {
+        if (minCost > maxCost) {
+            throw new IllegalArgumentException("Expected minCost <= maxCost, found " + minCost + " > " + maxCost);
+        }
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+
+        if (forecast.metadata.numberOfDays == 0) {
+            this.baseProfits = new long[]{0};
+            this.switches = new int[]{0};
+            return;
+        }
+
+        // Maps the number of switches of each line found to its profit before switching costs. The lines optimal at
+        // either end of the range bound the envelope inside it, and every crossing between them lies inside it too.
+        TreeMap<Integer, Long> lines = new TreeMap<>();
+        long profitBound = 0;
+        for (int day = 0; day < forecast.metadata.numberOfDays; day++) {
+            profitBound += Math.max(Math.abs((long) forecast.umbrellaProfitForecast[day]), Math.abs((long) forecast.suncreamProfitForecast[day]));
+        }
+        long[] cheapest = evaluate(forecast, profitBound, minCost, 1, true);
+        long[] dearest = evaluate(forecast, profitBound, maxCost, 1, false);
+        lines.put((int) cheapest[1], cheapest[0]);
+        lines.put((int) dearest[1], dearest[0]);
+
+        // Each pair of adjacent lines still to check, as their numbers of switches
+        Deque<int[]> pending = new ArrayDeque<>();
+        pending.push(new int[]{(int) cheapest[1], (int) dearest[1]});
+        while (!pending.isEmpty()) {
+            int[] pair = pending.pop();
+            int more = pair[0];
+            int fewer = pair[1];
+            if (more == fewer) {
+                continue;
+            }
+
+            // The lines cross at cost numerator / denominator
+            long denominator = more - fewer;
+            long numerator = Math.subtractExact(lines.get(more), lines.get(fewer));
+            long[] best = evaluate(forecast, profitBound, numerator, denominator, false);
+            long bestAtCrossing = Math.subtractExact(Math.multiplyExact(best[0], denominator), Math.multiplyExact(numerator, best[1]));
+            long lineAtCrossing = Math.subtractExact(Math.multiplyExact(lines.get(more), denominator), Math.multiplyExact(numerator, more));
+            if (bestAtCrossing > lineAtCrossing) {
+                // A plan beats both lines where they cross, so there is another line between them
+                int middle = (int) best[1];
+                lines.put(middle, best[0]);
+                pending.push(new int[]{more, middle});
+                pending.push(new int[]{middle, fewer});
+            }
+        }
+
+        this.baseProfits = new long[lines.size()];
+        this.switches = new int[lines.size()];
+        int i = lines.size() - 1;
+        for (Map.Entry<Integer, Long> line : lines.entrySet()) {
+            switches[i] = line.getKey();
+            baseProfits[i] = line.getValue();
+            i--;
+        }
+    }
+
+    /**
+     * Get the maximum profit for a stock change cost.
+     * @param stockChangeCost The cost of each switch, which must lie in the curve's range
+     * @return The maximum profit
+     */
+    public int getMaxProfit(int stockChangeCost) {
+        int line = getLine(stockChangeCost);
+        return (int) (baseProfits[line] - (long) stockChangeCost * switches[line]);
+    }
+
+    /**
+     * Get the number of switches made by an optimal plan for a stock change cost, preferring fewer switches at a
+     * breakpoint.
+     * @param stockChangeCost The cost of each switch, which must lie in the curve's range
+     * @return The number of switches
+     */
+    public int getNumberOfSwitches(int stockChangeCost) {
+        return switches[getLine(stockChangeCost)];
+    }
+
+    /**
+     * Get the costs inside the range at which the optimal number of switches changes, in increasing order.
+     */
+    public double[] getBreakpoints() {
+        double[] breakpoints = new double[switches.length - 1];
+        for (int i = 0; i < breakpoints.length; i++) {
+            breakpoints[i] = (double) (baseProfits[i] - baseProfits[i + 1]) / (switches[i] - switches[i + 1]);
+        }
+        return breakpoints;
+    }
+
+    /**
+     * Find the first line of the envelope which is strictly better than the next at a cost.
+     */
+    private int getLine(int stockChangeCost) {
+        if (stockChangeCost < minCost || stockChangeCost > maxCost) {
+            throw new IllegalArgumentException(
+                    "Expected a stock change cost in [" + minCost + ", " + maxCost + "], found " + stockChangeCost
+            );
+        }
+
+        int lo = 0;
+        int hi = switches.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (baseProfits[mid] - baseProfits[mid + 1] > (long) stockChangeCost * (switches[mid] - switches[mid + 1])) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Find an optimal plan for the stock change cost numerator / denominator, working in profits scaled by the
+     * denominator so that the arithmetic stays exact. Every intermediate value is bounded by profitBound * denominator
+     * plus 2 * |numerator| * (numberOfDays + 1), so checking that bound once up front keeps the per-day loop free of
+     * overflow checks.
+     * @param profitBound The sum over the days of the larger absolute profit of the two items
+     * @param preferMoreSwitches Whether to break ties between plans towards more switches rather than fewer
+     * @return The optimal plan's profit before switching costs and its number of switches
+     * @throws ArithmeticException if the scaled profits could exceed the range of a long.
+     */
+    private static long[] evaluate(PrimitiveProfitForecast forecast, long profitBound, long numerator, long denominator, boolean preferMoreSwitches) {
+        int numberOfDays = forecast.metadata.numberOfDays;
+        long absoluteNumerator = numerator < 0 ? Math.negateExact(numerator) : numerator;
+        Math.addExact(Math.multiplyExact(profitBound, denominator), Math.multiplyExact(absoluteNumerator, 2 * (numberOfDays + 1L)));
+
+        long umbrella = forecast.umbrellaProfitForecast[0] * denominator;
+        long suncream = forecast.suncreamProfitForecast[0] * denominator;
+        int umbrellaSwitches = 0;
+        int suncreamSwitches = 0;
+
+        for (int day = 1; day < numberOfDays; day++) {
+            long umbrellaProfit = forecast.umbrellaProfitForecast[day] * denominator;
+            long suncreamProfit = forecast.suncreamProfitForecast[day] * denominator;
+
+            long nextUmbrella;
+            int nextUmbrellaSwitches;
+            if (isBetter(suncream - numerator, suncreamSwitches + 1, umbrella, umbrellaSwitches, preferMoreSwitches)) {
+                nextUmbrella = suncream - numerator + umbrellaProfit;
+                nextUmbrellaSwitches = suncreamSwitches + 1;
+            } else {
+                nextUmbrella = umbrella + umbrellaProfit;
+                nextUmbrellaSwitches = umbrellaSwitches;
+            }
+
+            long nextSuncream;
+            int nextSuncreamSwitches;
+            if (isBetter(umbrella - numerator, umbrellaSwitches + 1, suncream, suncreamSwitches, preferMoreSwitches)) {
+                nextSuncream = umbrella - numerator + suncreamProfit;
+                nextSuncreamSwitches = umbrellaSwitches + 1;
+            } else {
+                nextSuncream = suncream + suncreamProfit;
+                nextSuncreamSwitches = suncreamSwitches;
+            }
+
+            umbrella = nextUmbrella;
+            umbrellaSwitches = nextUmbrellaSwitches;
+            suncream = nextSuncream;
+            suncreamSwitches = nextSuncreamSwitches;
+        }
+
+        long best = umbrella;
+        int bestSwitches = umbrellaSwitches;
+        if (isBetter(suncream, suncreamSwitches, umbrella, umbrellaSwitches, preferMoreSwitches)) {
+            best = suncream;
+            bestSwitches = suncreamSwitches;
+        }
+        return new long[]{(best + numerator * bestSwitches) / denominator, bestSwitches};
+    }
+
+    private static boolean isBetter(long value, int switches, long otherValue, int otherSwitches, boolean preferMoreSwitches) {
+        if (value != otherValue) {
+            return value > otherValue;
+        }
+        return preferMoreSwitches ? switches > otherSwitches : switches < otherSwitches;
+    }
+}
+
+/**
+ * Tables of the best profits before and after every day of a forecast, from which the effect of closing the shop for a
+ * day or splitting the season at a day can be read in O(1). Each table is built in one linear pass.
+ */
+class MaximumCornerShopProfitTables {
+    private int numberOfDays;
+    private int stockChangeCost;
+    // forwardUmbrella[d] is the best profit over the days before day d, finishing on umbrellas
+    private int[] forwardUmbrella;
+    private int[] forwardSuncream;
+    // backwardUmbrella[d] is the best profit over day d and the days after it, starting on umbrellas
+    private int[] backwardUmbrella;
+    private int[] backwardSuncream;
+
+    public MaximumCornerShopProfitTables(ProfitForecast forecast) {
+        this(PrimitiveProfitForecast.fromProfitForecast(forecast));
+    }
+
+    public MaximumCornerShopProfitTables(PrimitiveProfitForecast forecast) {
+        this.numberOfDays = forecast.metadata.numberOfDays;
+        this.stockChangeCost = forecast.metadata.stockChangeCost;
+        this.forwardUmbrella = new int[numberOfDays + 1];
+        this.forwardSuncream = new int[numberOfDays + 1];
+        this.backwardUmbrella = new int[numberOfDays + 1];
+        this.backwardSuncream = new int[numberOfDays + 1];
+
+        for (int day = 0; day < numberOfDays; day++) {
+            forwardUmbrella[day + 1] = Math.max(forwardUmbrella[day], forwardSuncream[day] - stockChangeCost) + forecast.umbrellaProfitForecast[day];
+            forwardSuncream[day + 1] = Math.max(forwardUmbrella[day] - stockChangeCost, forwardSuncream[day]) + forecast.suncreamProfitForecast[day];
+        }
+        for (int day = numberOfDays - 1; day >= 0; day--) {
+            backwardUmbrella[day] = Math.max(backwardUmbrella[day + 1], backwardSuncream[day + 1] - stockChangeCost) + forecast.umbrellaProfitForecast[day];
+            backwardSuncream[day] = Math.max(backwardUmbrella[day + 1] - stockChangeCost, backwardSuncream[day + 1]) + forecast.suncreamProfitForecast[day];
+        }
+    }
+
+    public int getNumberOfDays() {
+        return numberOfDays;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the maximum profit over the whole forecast.
+     */
+    public int getMaxProfit() {
+        return Math.max(forwardUmbrella[numberOfDays], forwardSuncream[numberOfDays]);
+    }
+
+    /**
+     * Get the maximum profit if the shop is closed for a day, making no profit from either item on it. The shop still
+     * holds its stock over the closed day, so switching items across it costs the same as on any other day.
+     * @param day The day the shop is closed, counting from 0
+     * @return The maximum profit
+     */
+    public int getMaxProfitClosedOn(int day) {
+        if (day < 0 || day >= numberOfDays) {
+            throw new IndexOutOfBoundsException("Expected a day in [0, " + numberOfDays + "), found " + day);
+        }
+
+        // The best profits before the closed day, finishing on each item on the closed day
+        int umbrellaBefore = Math.max(forwardUmbrella[day], forwardSuncream[day] - stockChangeCost);
+        int suncreamBefore = Math.max(forwardUmbrella[day] - stockChangeCost, forwardSuncream[day]);
+        // The best profits after the closed day, starting from each item on the closed day
+        int umbrellaAfter = Math.max(backwardUmbrella[day + 1], backwardSuncream[day + 1] - stockChangeCost);
+        int suncreamAfter = Math.max(backwardUmbrella[day + 1] - stockChangeCost, backwardSuncream[day + 1]);
+
+        return Math.max(umbrellaBefore + umbrellaAfter, suncreamBefore + suncreamAfter);
+    }
+
+    /**
+     * Get the maximum profit if the season is split into two independent seasons before a day, so that the item can be
+     * changed at the split for free.
+     * @param day The first day of the second season, counting from 0, from 0 to the number of days inclusive
+     * @return The sum of the maximum profits of the two seasons
+     */
+    public int getMaxProfitSplitAt(int day) {
+        if (day < 0 || day > numberOfDays) {
+            throw new IndexOutOfBoundsException("Expected a day in [0, " + numberOfDays + "], found " + day);
+        }
+
+        return Math.max(forwardUmbrella[day], forwardSuncream[day]) + Math.max(backwardUmbrella[day], backwardSuncream[day]);
+    }
+
+    /**
+     * Answer a batch of closed-day queries.
+     * @param days The days the shop is closed, one per query
+     * @return The maximum profit for each query, in the same order
+     */
+    public int[] getMaxProfitsClosedOn(int[] days) {
+        int[] maxProfits = new int[days.length];
+        for (int i = 0; i < days.length; i++) {
+            maxProfits[i] = getMaxProfitClosedOn(days[i]);
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Answer a batch of split-season queries.
+     * @param days The first day of the second season, one per query
+     * @return The maximum profit for each query, in the same order
+     */
+    public int[] getMaxProfitsSplitAt(int[] days) {
+        int[] maxProfits = new int[days.length];
+        for (int i = 0; i < days.length; i++) {
+            maxProfits[i] = getMaxProfitSplitAt(days[i]);
+        }
+        return maxProfits;
+    }
+}
+
+/**
+ * A bottom-up calculator which advances every scenario of a batch by one day at a time. The loop over scenarios is
+ * branch-free and reads and writes consecutive elements, so the JIT can compile it to SIMD instructions.
+ */
+class BatchMaximumCornerShopProfitCalculator {
+    /**
+     * Get the maximum profit of every scenario.
+     * @param forecast The scenarios
+     * @return The maximum profit of each scenario, in the same order
+     */
+    public int[] getMaxProfits(MultiScenarioProfitForecast forecast) {
+        int numberOfScenarios = forecast.numberOfScenarios;
+        int stockChangeCost = forecast.stockChangeCost;
+        int[] umbrella = new int[numberOfScenarios];
+        int[] suncream = new int[numberOfScenarios];
+
+        for (int day = 0; day < forecast.numberOfDays; day++) {
+            int offset = day * numberOfScenarios;
+            for (int scenario = 0; scenario < numberOfScenarios; scenario++) {
+                int previousUmbrella = umbrella[scenario];
+                int previousSuncream = suncream[scenario];
+                umbrella[scenario] = Math.max(previousUmbrella, previousSuncream - stockChangeCost) + forecast.umbrellaProfits[offset + scenario];
+                suncream[scenario] = Math.max(previousUmbrella - stockChangeCost, previousSuncream) + forecast.suncreamProfits[offset + scenario];
+            }
+        }
+
+        for (int scenario = 0; scenario < numberOfScenarios; scenario++) {
+            umbrella[scenario] = Math.max(umbrella[scenario], suncream[scenario]);
+        }
+        return umbrella;
+    }
+}
@@ -53,6 +53,10 @@ public class DSAP3 {
 
         if (Arrays.asList("r", "recursive").contains(lowerCaseFlag)) {
             return Optional.of(new RecursiveHighestTeamAbilityCalculator());
+        } else if (Arrays.asList("m", "memoized").contains(lowerCaseFlag)) {
+            return Optional.of(new MemoizedHighestTeamAbilityCalculator());
+        } else if (Arrays.asList("i", "iterative").contains(lowerCaseFlag)) {
+            return Optional.of(new IterativeHighestTeamAbilityCalculator());
         } else {
             return Optional.empty();
         }
@@ -188,6 +192,68 @@ class Wizard {
     }
 }
 
+/**
+ * A wizard guild held in primitive arrays, with wizards numbered from 0 in place of their ids and each wizard's
+ * apprentices stored contiguously, so that walking the guild involves no map lookups or unboxing.
+ */
+class PrimitiveWizardGuild {
+    public int numberOfWizards;
+    // The index of the wizard with id 1, who heads the guild
+    public int root;
+    public int[] ids;
+    public int[] magicalAbilities;
+    // The apprentices of wizard w are apprentices[firstApprentice[w]] to apprentices[firstApprentice[w + 1] - 1]
+    public int[] firstApprentice;
+    public int[] apprentices;
+
+    public PrimitiveWizardGuild(int root, int[] ids, int[] magicalAbilities, int[] firstApprentice, int[] apprentices) {
+        this.numberOfWizards = ids.length;
+        this.root = root;
+        this.ids = ids;
+        this.magicalAbilities = magicalAbilities;
+        this.firstApprentice = firstApprentice;
+        this.apprentices = apprentices;
+    }
+
+    public static PrimitiveWizardGuild fromWizards(Map<Integer, Wizard> guild) {
+        int numberOfWizards = guild.size();
+        int[] ids = new int[numberOfWizards];
+        int[] magicalAbilities = new int[numberOfWizards];
+        Map<Integer, Integer> idToIndex = new HashMap<>();
+
+        int index = 0;
+        int numberOfApprentices = 0;
+        for (Wizard wizard : guild.values()) {
+            ids[index] = wizard.id;
+            magicalAbilities[index] = wizard.magicalAbility;
+            idToIndex.put(wizard.id, index);
+            numberOfApprentices += wizard.apprenticeIds.size();
+            index++;
+        }
+
+        int[] firstApprentice = new int[numberOfWizards + 1];
+        int[] apprentices = new int[numberOfApprentices];
+        int next = 0;
+        for (int wizard = 0; wizard < numberOfWizards; wizard++) {
+            firstApprentice[wizard] = next;
+            for (int apprenticeId : guild.get(ids[wizard]).apprenticeIds) {
+                Integer apprentice = idToIndex.get(apprenticeId);
+                if (apprentice == null) {
+                    throw new IllegalArgumentException("Wizard " + ids[wizard] + " has an unknown apprentice " + apprenticeId);
+                }
+                apprentices[next++] = apprentice;
+            }
+        }
+        firstApprentice[numberOfWizards] = next;
+
+        Integer root = idToIndex.get(1);
+        if (root == null) {
+            throw new IllegalArgumentException("Expected a wizard with id 1 to head the guild");
+        }
+        return new PrimitiveWizardGuild(root, ids, magicalAbilities, firstApprentice, apprentices);
+    }
+}
+
 interface HighestTeamAbilityCalculator {
     int getHighestTeamAbility(Map<Integer, Wizard> guild);
 }
@@ -216,3 +282,98 @@ class RecursiveHighestTeamAbilityCalculator implements HighestTeamAbilityCalcula
                 .reduce(0, (l, r) -> l + r);
     }
 }
+
+/**
+ * A memoized calculator which evaluates wizards on demand, starting from the head of the guild, keeping pending
+ * wizards on an explicit work stack instead of the call stack. Each wizard's best team abilities with and without them
+ * are memoized together, so every wizard is evaluated once.
+ */
+class MemoizedHighestTeamAbilityCalculator implements HighestTeamAbilityCalculator {
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    public int getHighestTeamAbility(Map<Integer, Wizard> guild) {
+        return getHighestTeamAbility(PrimitiveWizardGuild.fromWizards(guild));
+    }
+
+    public int getHighestTeamAbility(PrimitiveWizardGuild guild) {
+        // The best team abilities from each wizard's part of the guild, with and without that wizard
+        int[] selected = new int[guild.numberOfWizards];
+        int[] unselected = new int[guild.numberOfWizards];
+        Arrays.fill(selected, UNKNOWN);
+
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = guild.root;
+
+        while (top > 0) {
+            int wizard = stack[top - 1];
+            if (selected[wizard] != UNKNOWN) {
+                top--;
+                continue;
+            }
+
+            boolean apprenticesKnown = true;
+            for (int i = guild.firstApprentice[wizard]; i < guild.firstApprentice[wizard + 1]; i++) {
+                int apprentice = guild.apprentices[i];
+                if (selected[apprentice] == UNKNOWN) {
+                    // Leave this wizard on the stack and come back to it once its apprentices are known
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = apprentice;
+                    apprenticesKnown = false;
+                }
+            }
+
+            if (apprenticesKnown) {
+                evaluate(guild, wizard, selected, unselected);
+                top--;
+            }
+        }
+
+        return DSAP3Utils.max(selected[guild.root], unselected[guild.root]);
+    }
+
+    static void evaluate(PrimitiveWizardGuild guild, int wizard, int[] selected, int[] unselected) {
+        int withWizard = guild.magicalAbilities[wizard];
+        int withoutWizard = 0;
+        for (int i = guild.firstApprentice[wizard]; i < guild.firstApprentice[wizard + 1]; i++) {
+            int apprentice = guild.apprentices[i];
+            withWizard += unselected[apprentice];
+            withoutWizard += Math.max(selected[apprentice], unselected[apprentice]);
+        }
+        selected[wizard] = withWizard;
+        unselected[wizard] = withoutWizard;
+    }
+}
+
+/**
+ * A bottom-up calculator which orders the guild from the head down in one pass, then evaluates the wizards in reverse
+ * of that order, so that every wizard's apprentices are evaluated before them.
+ */
+class IterativeHighestTeamAbilityCalculator implements HighestTeamAbilityCalculator {
+    public int getHighestTeamAbility(Map<Integer, Wizard> guild) {
+        return getHighestTeamAbility(PrimitiveWizardGuild.fromWizards(guild));
+    }
+
+    public int getHighestTeamAbility(PrimitiveWizardGuild guild) {
+        // Every wizard in the head's part of the guild, each after their master
+        int[] order = new int[guild.numberOfWizards];
+        int length = 0;
+        order[length++] = guild.root;
+        for (int next = 0; next < length; next++) {
+            int wizard = order[next];
+            for (int i = guild.firstApprentice[wizard]; i < guild.firstApprentice[wizard + 1]; i++) {
+                order[length++] = guild.apprentices[i];
+            }
+        }
+
+        int[] selected = new int[guild.numberOfWizards];
+        int[] unselected = new int[guild.numberOfWizards];
+        for (int next = length - 1; next >= 0; next--) {
+            MemoizedHighestTeamAbilityCalculator.evaluate(guild, order[next], selected, unselected);
+        }
+
+        return DSAP3Utils.max(selected[guild.root], unselected[guild.root]);
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+public class AnalyticsLargestEmptySquareCalculatorTest {
+    AnalyticsLargestEmptySquareCalculator calculator = new AnalyticsLargestEmptySquareCalculator();
+    LargestEmptySquareCalculatorTests tests = new LargestEmptySquareCalculatorTests();
+
+    @Test
+    public void testGetLargestEmptySquareWhenWholeMatrixIsEmpty() {
+        tests.testGetLargestEmptySquareWhenWholeMatrixIsEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareAgreesWithIterativeCalculator() {
+        tests.testGetLargestEmptySquareAgreesWithIterativeCalculator(calculator);
+    }
+
+    @Test
+    public void testGetStatistics() {
+        EmptySquareStatistics statistics = calculator.getStatistics(new boolean[][]{
+                new boolean[]{true, false, false},
+                new boolean[]{false, false, false},
+                new boolean[]{false, false, true}
+        });
+
+        Assert.assertEquals(2, statistics.largestEmptySquare);
+        Assert.assertEquals(1, statistics.largestEmptySquareLeft);
+        Assert.assertEquals(0, statistics.largestEmptySquareTop);
+        Assert.assertArrayEquals(new long[]{2, 5, 2, 0}, statistics.squaresWithCornerOfSize);
+        Assert.assertEquals(9, statistics.numberOfEmptySquares);
+    }
+
+    @Test
+    public void testGetStatisticsCountsEverySquareOfAnEmptyMatrix() {
+        EmptySquareStatistics statistics = calculator.getStatistics(PackedMatrix.fromBooleanArray(new boolean[4][4]));
+
+        Assert.assertEquals(4, statistics.largestEmptySquare);
+        Assert.assertEquals(0, statistics.largestEmptySquareLeft);
+        Assert.assertEquals(0, statistics.largestEmptySquareTop);
+        // 16 squares of side 1, 9 of side 2, 4 of side 3 and 1 of side 4
+        Assert.assertEquals(30, statistics.numberOfEmptySquares);
+    }
+
+    @Test
+    public void testGetStatisticsFromRows() throws IOException, ParseException {
+        MatrixLoader loader = new MatrixLoader();
+        boolean[][] matrix = loader.deserializeMatrix(getClass().getResourceAsStream("/P1eg9.txt"));
+        EmptySquareStatistics expectedStatistics = calculator.getStatistics(matrix);
+
+        try (MatrixRowReader rows = loader.openMatrixRows(getClass().getResourceAsStream("/P1eg9.txt"))) {
+            EmptySquareStatistics statistics = calculator.getStatistics(rows);
+
+            Assert.assertEquals(75, statistics.largestEmptySquare);
+            Assert.assertEquals(expectedStatistics.largestEmptySquareLeft, statistics.largestEmptySquareLeft);
+            Assert.assertEquals(expectedStatistics.largestEmptySquareTop, statistics.largestEmptySquareTop);
+            Assert.assertArrayEquals(expectedStatistics.squaresWithCornerOfSize, statistics.squaresWithCornerOfSize);
+            Assert.assertEquals(expectedStatistics.numberOfEmptySquares, statistics.numberOfEmptySquares);
+        }
+
+        // The reported square really is empty
+        for (int y = expectedStatistics.largestEmptySquareTop; y < expectedStatistics.largestEmptySquareTop + 75; y++) {
+            for (int x = expectedStatistics.largestEmptySquareLeft; x < expectedStatistics.largestEmptySquareLeft + 75; x++) {
+                Assert.assertFalse(matrix[y][x]);
+            }
+        }
+    }
+}
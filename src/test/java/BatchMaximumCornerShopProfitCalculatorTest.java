@@ -0,0 +1,60 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BatchMaximumCornerShopProfitCalculatorTest {
+    BatchMaximumCornerShopProfitCalculator calculator = new BatchMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testGetMaxProfitsAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+        IterativeMaximumCornerShopProfitCalculator iterative = new IterativeMaximumCornerShopProfitCalculator();
+
+        for (int numberOfScenarios : new int[]{1, 3, 37}) {
+            int numberOfDays = random.nextInt(30);
+            ProfitForecastMetadata metadata = new ProfitForecastMetadata(numberOfDays, random.nextInt(50));
+
+            List<PrimitiveProfitForecast> forecasts = new ArrayList<>();
+            for (int scenario = 0; scenario < numberOfScenarios; scenario++) {
+                int[] umbrellaProfits = new int[numberOfDays];
+                int[] suncreamProfits = new int[numberOfDays];
+                for (int day = 0; day < numberOfDays; day++) {
+                    umbrellaProfits[day] = random.nextInt(100);
+                    suncreamProfits[day] = random.nextInt(100);
+                }
+                forecasts.add(new PrimitiveProfitForecast(umbrellaProfits, suncreamProfits, metadata));
+            }
+
+            int[] maxProfits = calculator.getMaxProfits(MultiScenarioProfitForecast.fromPrimitiveProfitForecasts(forecasts));
+            Assert.assertEquals(numberOfScenarios, maxProfits.length);
+            for (int scenario = 0; scenario < numberOfScenarios; scenario++) {
+                Assert.assertEquals(iterative.getMaxProfit(forecasts.get(scenario)), maxProfits[scenario]);
+            }
+        }
+    }
+
+    @Test
+    public void testGetMaxProfitsWithNoScenarios() {
+        Assert.assertArrayEquals(
+                new int[0],
+                calculator.getMaxProfits(MultiScenarioProfitForecast.fromPrimitiveProfitForecasts(Collections.emptyList()))
+        );
+    }
+
+    @Test
+    public void testFromPrimitiveProfitForecastsWithDifferentLengths() {
+        List<PrimitiveProfitForecast> forecasts = new ArrayList<>();
+        forecasts.add(new PrimitiveProfitForecast(new int[]{1}, new int[]{2}, new ProfitForecastMetadata(1, 0)));
+        forecasts.add(new PrimitiveProfitForecast(new int[]{1, 2}, new int[]{2, 1}, new ProfitForecastMetadata(2, 0)));
+
+        try {
+            MultiScenarioProfitForecast.fromPrimitiveProfitForecasts(forecasts);
+            Assert.fail("No IllegalArgumentException was thrown for scenarios of different lengths");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,26 @@
+import org.junit.Test;
+
+public class BitParallelLargestEmptySquareCalculatorTest {
+    BitParallelLargestEmptySquareCalculator calculator = new BitParallelLargestEmptySquareCalculator();
+    LargestEmptySquareCalculatorTests tests = new LargestEmptySquareCalculatorTests();
+
+    @Test
+    public void testGetLargestEmptySquareWhenWholeMatrixIsEmpty() {
+        tests.testGetLargestEmptySquareWhenWholeMatrixIsEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareAgreesWithIterativeCalculator() {
+        tests.testGetLargestEmptySquareAgreesWithIterativeCalculator(calculator);
+    }
+}
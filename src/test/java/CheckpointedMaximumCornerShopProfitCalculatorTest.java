@@ -0,0 +1,58 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class CheckpointedMaximumCornerShopProfitCalculatorTest {
+    CheckpointedMaximumCornerShopProfitCalculator calculator = new CheckpointedMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testGetSchedule() {
+        CornerShopSchedule schedule = calculator.getSchedule(new PrimitiveProfitForecast(
+                new int[]{3, 20, 2}, new int[]{9, 1, 8}, new ProfitForecastMetadata(3, 4)
+        ));
+
+        Assert.assertEquals(3, schedule.numberOfDays);
+        Assert.assertEquals(29, schedule.maxProfit);
+        Assert.assertEquals(MaximumCornerShopProfitCalculator.Item.SUNCREAM, schedule.getItem(0));
+        Assert.assertEquals(MaximumCornerShopProfitCalculator.Item.UMBRELLA, schedule.getItem(1));
+        Assert.assertEquals(MaximumCornerShopProfitCalculator.Item.SUNCREAM, schedule.getItem(2));
+    }
+
+    @Test
+    public void testGetScheduleAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+        IterativeMaximumCornerShopProfitCalculator iterative = new IterativeMaximumCornerShopProfitCalculator();
+
+        for (int numberOfDays = 0; numberOfDays <= 50; numberOfDays++) {
+            int[] umbrellaProfits = new int[numberOfDays];
+            int[] suncreamProfits = new int[numberOfDays];
+            for (int day = 0; day < numberOfDays; day++) {
+                umbrellaProfits[day] = random.nextInt(100);
+                suncreamProfits[day] = random.nextInt(100);
+            }
+            PrimitiveProfitForecast forecast = new PrimitiveProfitForecast(
+                    umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, random.nextInt(50))
+            );
+
+            CornerShopSchedule schedule = calculator.getSchedule(forecast);
+            Assert.assertEquals(iterative.getMaxProfit(forecast), schedule.maxProfit);
+            Assert.assertEquals(schedule.maxProfit, getProfit(forecast, schedule));
+        }
+    }
+
+    private int getProfit(PrimitiveProfitForecast forecast, CornerShopSchedule schedule) {
+        int profit = 0;
+        for (int day = 0; day < forecast.metadata.numberOfDays; day++) {
+            if (schedule.suncreamDays.get(day)) {
+                profit += forecast.suncreamProfitForecast[day];
+            } else {
+                profit += forecast.umbrellaProfitForecast[day];
+            }
+            if (day > 0 && schedule.suncreamDays.get(day) != schedule.suncreamDays.get(day - 1)) {
+                profit -= forecast.metadata.stockChangeCost;
+            }
+        }
+        return profit;
+    }
+}
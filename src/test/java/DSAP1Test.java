@@ -5,9 +5,15 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -53,9 +59,51 @@ public class DSAP1Test {
                 DSAP1.getCalculationStrategyFromFlag("i").get(),
                 new IsInstanceOf(IterativeLargestEmptySquareCalculator.class)
         );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("ri").get(),
+                new IsInstanceOf(RollingIterativeLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("s").get(),
+                new IsInstanceOf(StreamingLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("t").get(),
+                new IsInstanceOf(TiledLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("p").get(),
+                new IsInstanceOf(TiledLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("sp").get(),
+                new IsInstanceOf(SparseLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("b").get(),
+                new IsInstanceOf(BitParallelLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("sm").get(),
+                new IsInstanceOf(StackSafeMemoizedLargestEmptySquareCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP1.getCalculationStrategyFromFlag("rl").get(),
+                new IsInstanceOf(RunLengthLargestEmptySquareCalculator.class)
+        );
         Assert.assertEquals(Optional.empty(), DSAP1.getCalculationStrategyFromFlag("wat"));
     }
 
+    @Test
+    public void testReadsPackedMatrices() {
+        Assert.assertFalse(new RecursiveLargestEmptySquareCalculator().readsPackedMatrices());
+        Assert.assertFalse(new MemoizedLargestEmptySquareCalculator().readsPackedMatrices());
+        Assert.assertTrue(new IterativeLargestEmptySquareCalculator().readsPackedMatrices());
+        Assert.assertTrue(new StreamingLargestEmptySquareCalculator().readsPackedMatrices());
+        Assert.assertTrue(new TiledLargestEmptySquareCalculator().readsPackedMatrices());
+        Assert.assertTrue(new BitParallelLargestEmptySquareCalculator().readsPackedMatrices());
+    }
+
     private void testWithFlag(Map<String, String> tests, String flag) throws URISyntaxException {
         for (Map.Entry<String, String> pathAndAnswer : tests.entrySet()) {
             outContent.reset();
@@ -126,4 +174,191 @@ public class DSAP1Test {
         testWithFlag(pathToAnswerMap, "-i");
         testWithFlag(pathToAnswerMap, "--iterative");
     }
+
+    @Test
+    public void testDSAP1RollingIterative() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1.txt", "5");
+        pathToAnswerMap.put("/P1eg2.txt", "1");
+        pathToAnswerMap.put("/P1eg3.txt", "2");
+        pathToAnswerMap.put("/P1eg4.txt", "4");
+        pathToAnswerMap.put("/P1eg5.txt", "7");
+        pathToAnswerMap.put("/P1eg6.txt", "4");
+        pathToAnswerMap.put("/P1eg7.txt", "13");
+        pathToAnswerMap.put("/P1eg8.txt", "18");
+        pathToAnswerMap.put("/P1eg9.txt", "75");
+        pathToAnswerMap.put("/P1eg10.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-ri");
+        testWithFlag(pathToAnswerMap, "--rolling-iterative");
+    }
+
+    @Test
+    public void testDSAP1Streaming() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1.txt", "5");
+        pathToAnswerMap.put("/P1eg2.txt", "1");
+        pathToAnswerMap.put("/P1eg3.txt", "2");
+        pathToAnswerMap.put("/P1eg4.txt", "4");
+        pathToAnswerMap.put("/P1eg5.txt", "7");
+        pathToAnswerMap.put("/P1eg6.txt", "4");
+        pathToAnswerMap.put("/P1eg7.txt", "13");
+        pathToAnswerMap.put("/P1eg8.txt", "18");
+        pathToAnswerMap.put("/P1eg9.txt", "75");
+        pathToAnswerMap.put("/P1eg10.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-s");
+        testWithFlag(pathToAnswerMap, "--streaming");
+    }
+
+    @Test
+    public void testDSAP1StreamingFromStandardInput() {
+        InputStream originalIn = System.in;
+        try {
+            System.setIn(getClass().getResourceAsStream("/P1eg9.txt"));
+            DSAP1.main(new String[] { "-s", "-" });
+            Assert.assertEquals("75", outContent.toString());
+            Assert.assertEquals("", errContent.toString());
+        } finally {
+            System.setIn(originalIn);
+        }
+    }
+
+    @Test
+    public void testDSAP1Tiled() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1.txt", "5");
+        pathToAnswerMap.put("/P1eg2.txt", "1");
+        pathToAnswerMap.put("/P1eg3.txt", "2");
+        pathToAnswerMap.put("/P1eg4.txt", "4");
+        pathToAnswerMap.put("/P1eg5.txt", "7");
+        pathToAnswerMap.put("/P1eg6.txt", "4");
+        pathToAnswerMap.put("/P1eg7.txt", "13");
+        pathToAnswerMap.put("/P1eg8.txt", "18");
+        pathToAnswerMap.put("/P1eg9.txt", "75");
+        pathToAnswerMap.put("/P1eg10.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-t");
+        testWithFlag(pathToAnswerMap, "--tiled");
+        testWithFlag(pathToAnswerMap, "-p");
+        testWithFlag(pathToAnswerMap, "--parallel");
+    }
+
+    @Test
+    public void testDSAP1Sparse() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1-sparse.txt", "5");
+        pathToAnswerMap.put("/P1eg2-sparse.txt", "1");
+        pathToAnswerMap.put("/P1eg3-sparse.txt", "2");
+        pathToAnswerMap.put("/P1eg4-sparse.txt", "4");
+        pathToAnswerMap.put("/P1eg5-sparse.txt", "7");
+        pathToAnswerMap.put("/P1eg6-sparse.txt", "4");
+        pathToAnswerMap.put("/P1eg7-sparse.txt", "13");
+        pathToAnswerMap.put("/P1eg8-sparse.txt", "18");
+        pathToAnswerMap.put("/P1eg9-sparse.txt", "75");
+        pathToAnswerMap.put("/P1eg10-sparse.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-sp");
+        testWithFlag(pathToAnswerMap, "--sparse");
+    }
+
+    @Test
+    public void testDSAP1Binary() throws IOException, ParseException {
+        MatrixLoader loader = new MatrixLoader();
+        MatrixWriter writer = new MatrixWriter();
+
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1.txt", "5");
+        pathToAnswerMap.put("/P1eg9.txt", "75");
+        pathToAnswerMap.put("/P1eg10.txt", "71");
+
+        for (Map.Entry<String, String> pathAndAnswer : pathToAnswerMap.entrySet()) {
+            Path binaryPath = Files.createTempFile("DSAP1Test", ".bin");
+            try {
+                try (OutputStream output = Files.newOutputStream(binaryPath)) {
+                    PackedMatrix matrix = loader.deserializePackedMatrix(getClass().getResourceAsStream(pathAndAnswer.getKey()));
+                    writer.serializeBinaryMatrix(matrix, output);
+                }
+
+                for (String flag : new String[] { "-i", "-ri", "-s", "-t", "-b" }) {
+                    outContent.reset();
+                    errContent.reset();
+                    DSAP1.main(new String[] { flag, binaryPath.toString() });
+                    Assert.assertEquals(pathAndAnswer.getValue(), outContent.toString());
+                    Assert.assertEquals("", errContent.toString());
+                }
+            } finally {
+                Files.delete(binaryPath);
+            }
+        }
+    }
+
+    @Test
+    public void testDSAP1BitParallel() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1.txt", "5");
+        pathToAnswerMap.put("/P1eg2.txt", "1");
+        pathToAnswerMap.put("/P1eg3.txt", "2");
+        pathToAnswerMap.put("/P1eg4.txt", "4");
+        pathToAnswerMap.put("/P1eg5.txt", "7");
+        pathToAnswerMap.put("/P1eg6.txt", "4");
+        pathToAnswerMap.put("/P1eg7.txt", "13");
+        pathToAnswerMap.put("/P1eg8.txt", "18");
+        pathToAnswerMap.put("/P1eg9.txt", "75");
+        pathToAnswerMap.put("/P1eg10.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-b");
+        testWithFlag(pathToAnswerMap, "--bit-parallel");
+    }
+
+    @Test
+    public void testDSAP1StackSafeMemoized() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1.txt", "5");
+        pathToAnswerMap.put("/P1eg2.txt", "1");
+        pathToAnswerMap.put("/P1eg3.txt", "2");
+        pathToAnswerMap.put("/P1eg4.txt", "4");
+        pathToAnswerMap.put("/P1eg5.txt", "7");
+        pathToAnswerMap.put("/P1eg6.txt", "4");
+        pathToAnswerMap.put("/P1eg7.txt", "13");
+        pathToAnswerMap.put("/P1eg8.txt", "18");
+        pathToAnswerMap.put("/P1eg9.txt", "75");
+        pathToAnswerMap.put("/P1eg10.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-sm");
+        testWithFlag(pathToAnswerMap, "--stack-memoized");
+    }
+
+    @Test
+    public void testDSAP1RunLength() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P1eg1-rle.txt", "5");
+        pathToAnswerMap.put("/P1eg2-rle.txt", "1");
+        pathToAnswerMap.put("/P1eg3-rle.txt", "2");
+        pathToAnswerMap.put("/P1eg4-rle.txt", "4");
+        pathToAnswerMap.put("/P1eg5-rle.txt", "7");
+        pathToAnswerMap.put("/P1eg6-rle.txt", "4");
+        pathToAnswerMap.put("/P1eg7-rle.txt", "13");
+        pathToAnswerMap.put("/P1eg8-rle.txt", "18");
+        pathToAnswerMap.put("/P1eg9-rle.txt", "75");
+        pathToAnswerMap.put("/P1eg10-rle.txt", "71");
+
+
+        testWithFlag(pathToAnswerMap, "-rl");
+        testWithFlag(pathToAnswerMap, "--run-length");
+    }
 }
\ No newline at end of file
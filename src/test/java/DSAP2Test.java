@@ -4,9 +4,15 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
@@ -53,6 +59,22 @@ public class DSAP2Test {
                 DSAP2.getCalculationStrategyFromFlag("i").get(),
                 new IsInstanceOf(IterativeMaximumCornerShopProfitCalculator.class)
         );
+        Assert.assertThat(
+                DSAP2.getCalculationStrategyFromFlag("k").get(),
+                new IsInstanceOf(MultiProductMaximumCornerShopProfitCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP2.getCalculationStrategyFromFlag("p").get(),
+                new IsInstanceOf(ParallelMaximumCornerShopProfitCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP2.getCalculationStrategyFromFlag("c").get(),
+                new IsInstanceOf(CheckpointedMaximumCornerShopProfitCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP2.getCalculationStrategyFromFlag("sm").get(),
+                new IsInstanceOf(StackSafeMemoizedMaximumCornerShopProfitCalculator.class)
+        );
         Assert.assertEquals(Optional.empty(), DSAP2.getCalculationStrategyFromFlag("wat"));
     }
 
@@ -110,19 +132,154 @@ public class DSAP2Test {
     public void testDSAP2Iterative() throws URISyntaxException {
         Map<String, String> pathToAnswerMap = new HashMap<>();
 
-        pathToAnswerMap.put("/P2eg1.txt", "0");
-        pathToAnswerMap.put("/P2eg2.txt", "0");
-        pathToAnswerMap.put("/P2eg3.txt", "0");
-        pathToAnswerMap.put("/P2eg4.txt", "0");
-        pathToAnswerMap.put("/P2eg5.txt", "0");
-        pathToAnswerMap.put("/P2eg6.txt", "0");
-        pathToAnswerMap.put("/P2eg7.txt", "0");
-        pathToAnswerMap.put("/P2eg8.txt", "0");
-        pathToAnswerMap.put("/P2eg9.txt", "0");
-        pathToAnswerMap.put("/P2eg10.txt", "0");
+        pathToAnswerMap.put("/P2eg1.txt", "80");
+        pathToAnswerMap.put("/P2eg2.txt", "24");
+        pathToAnswerMap.put("/P2eg3.txt", "62");
+        pathToAnswerMap.put("/P2eg4.txt", "31");
+        pathToAnswerMap.put("/P2eg5.txt", "87");
+        pathToAnswerMap.put("/P2eg6.txt", "209");
+        pathToAnswerMap.put("/P2eg7.txt", "970");
+        pathToAnswerMap.put("/P2eg8.txt", "1207");
+        pathToAnswerMap.put("/P2eg9.txt", "24298");
+        pathToAnswerMap.put("/P2eg10.txt", "78987");
 
 
         testWithFlag(pathToAnswerMap, "-i");
         testWithFlag(pathToAnswerMap, "--iterative");
     }
+
+    @Test
+    public void testDSAP2MultiProduct() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P2eg1.txt", "80");
+        pathToAnswerMap.put("/P2eg2.txt", "24");
+        pathToAnswerMap.put("/P2eg3.txt", "62");
+        pathToAnswerMap.put("/P2eg4.txt", "31");
+        pathToAnswerMap.put("/P2eg5.txt", "87");
+        pathToAnswerMap.put("/P2eg6.txt", "209");
+        pathToAnswerMap.put("/P2eg7.txt", "970");
+        pathToAnswerMap.put("/P2eg8.txt", "1207");
+        pathToAnswerMap.put("/P2eg9.txt", "24298");
+        pathToAnswerMap.put("/P2eg10.txt", "78987");
+
+
+        testWithFlag(pathToAnswerMap, "-k");
+        testWithFlag(pathToAnswerMap, "--multi-product");
+    }
+
+    @Test
+    public void testDSAP2Parallel() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P2eg1.txt", "80");
+        pathToAnswerMap.put("/P2eg2.txt", "24");
+        pathToAnswerMap.put("/P2eg3.txt", "62");
+        pathToAnswerMap.put("/P2eg4.txt", "31");
+        pathToAnswerMap.put("/P2eg5.txt", "87");
+        pathToAnswerMap.put("/P2eg6.txt", "209");
+        pathToAnswerMap.put("/P2eg7.txt", "970");
+        pathToAnswerMap.put("/P2eg8.txt", "1207");
+        pathToAnswerMap.put("/P2eg9.txt", "24298");
+        pathToAnswerMap.put("/P2eg10.txt", "78987");
+
+
+        testWithFlag(pathToAnswerMap, "-p");
+        testWithFlag(pathToAnswerMap, "--parallel");
+    }
+
+    @Test
+    public void testDSAP2Checkpointed() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P2eg1.txt", "80");
+        pathToAnswerMap.put("/P2eg2.txt", "24");
+        pathToAnswerMap.put("/P2eg3.txt", "62");
+        pathToAnswerMap.put("/P2eg4.txt", "31");
+        pathToAnswerMap.put("/P2eg5.txt", "87");
+        pathToAnswerMap.put("/P2eg6.txt", "209");
+        pathToAnswerMap.put("/P2eg7.txt", "970");
+        pathToAnswerMap.put("/P2eg8.txt", "1207");
+        pathToAnswerMap.put("/P2eg9.txt", "24298");
+        pathToAnswerMap.put("/P2eg10.txt", "78987");
+
+
+        testWithFlag(pathToAnswerMap, "-c");
+        testWithFlag(pathToAnswerMap, "--checkpointed");
+    }
+
+    @Test
+    public void testDSAP2Online() {
+        InputStream in = System.in;
+        try {
+            System.setIn(new ByteArrayInputStream("3 9\n20 1\r\n\n2 8\n".getBytes(StandardCharsets.US_ASCII)));
+            DSAP2.main(new String[] { "-o", "4" });
+            Assert.assertEquals(String.format("9%n25%n29%n"), outContent.toString());
+            Assert.assertEquals("", errContent.toString());
+
+            outContent.reset();
+            System.setIn(new ByteArrayInputStream("3 9\n20\n".getBytes(StandardCharsets.US_ASCII)));
+            DSAP2.main(new String[] { "--online", "4" });
+            Assert.assertEquals(String.format("9%n"), outContent.toString());
+            Assert.assertTrue(errContent.toString().startsWith("Could not parse the input."));
+        } finally {
+            System.setIn(in);
+        }
+    }
+
+    @Test
+    public void testDSAP2StackSafeMemoized() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P2eg1.txt", "80");
+        pathToAnswerMap.put("/P2eg2.txt", "24");
+        pathToAnswerMap.put("/P2eg3.txt", "62");
+        pathToAnswerMap.put("/P2eg4.txt", "31");
+        pathToAnswerMap.put("/P2eg5.txt", "87");
+        pathToAnswerMap.put("/P2eg6.txt", "209");
+        pathToAnswerMap.put("/P2eg7.txt", "970");
+        pathToAnswerMap.put("/P2eg8.txt", "1207");
+        pathToAnswerMap.put("/P2eg9.txt", "24298");
+        pathToAnswerMap.put("/P2eg10.txt", "78987");
+
+
+        testWithFlag(pathToAnswerMap, "-sm");
+        testWithFlag(pathToAnswerMap, "--stack-memoized");
+    }
+
+    @Test
+    public void testDSAP2OnlinePrintsEachDayBeforeTheNextArrives() throws IOException, InterruptedException {
+        InputStream in = System.in;
+        PipedOutputStream feed = new PipedOutputStream();
+        try {
+            System.setIn(new PipedInputStream(feed));
+            Thread online = new Thread(() -> DSAP2.main(new String[] { "-o", "4" }));
+            online.start();
+
+            feed.write("3 9\n".getBytes(StandardCharsets.US_ASCII));
+            feed.flush();
+            Assert.assertEquals(String.format("9%n"), awaitOutput(String.format("9%n")));
+
+            feed.write("20 1\r\n".getBytes(StandardCharsets.US_ASCII));
+            feed.flush();
+            Assert.assertEquals(String.format("9%n25%n"), awaitOutput(String.format("9%n25%n")));
+
+            feed.close();
+            online.join(5000);
+            Assert.assertFalse(online.isAlive());
+            Assert.assertEquals("", errContent.toString());
+        } finally {
+            System.setIn(in);
+        }
+    }
+
+    /**
+     * Wait up to five seconds for the output to reach an expected value, returning whatever it holds by then.
+     */
+    private String awaitOutput(String expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 500 && !outContent.toString().equals(expected); attempt++) {
+            Thread.sleep(10);
+        }
+        return outContent.toString();
+    }
 }
\ No newline at end of file
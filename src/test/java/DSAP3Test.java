@@ -45,6 +45,14 @@ public class DSAP3Test {
                 DSAP3.getCalculationStrategyFromFlag("r").get(),
                 new IsInstanceOf(RecursiveHighestTeamAbilityCalculator.class)
         );
+        Assert.assertThat(
+                DSAP3.getCalculationStrategyFromFlag("m").get(),
+                new IsInstanceOf(MemoizedHighestTeamAbilityCalculator.class)
+        );
+        Assert.assertThat(
+                DSAP3.getCalculationStrategyFromFlag("i").get(),
+                new IsInstanceOf(IterativeHighestTeamAbilityCalculator.class)
+        );
         Assert.assertEquals(Optional.empty(), DSAP3.getCalculationStrategyFromFlag("wat"));
     }
 
@@ -83,4 +91,42 @@ public class DSAP3Test {
         testWithFlag(pathToAnswerMap, "-r");
         testWithFlag(pathToAnswerMap, "--recursive");
     }
+
+    @Test
+    public void testDSAP3Memoized() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P3eg1.txt", "188");
+        pathToAnswerMap.put("/P3eg2.txt", "42");
+        pathToAnswerMap.put("/P3eg3.txt", "77");
+        pathToAnswerMap.put("/P3eg4.txt", "46");
+        pathToAnswerMap.put("/P3eg5.txt", "181");
+        pathToAnswerMap.put("/P3eg6.txt", "712");
+        pathToAnswerMap.put("/P3eg7.txt", "1054");
+        pathToAnswerMap.put("/P3eg8.txt", "230");
+        pathToAnswerMap.put("/P3eg9.txt", "4791096");
+        pathToAnswerMap.put("/P3eg10.txt", "31762");
+
+        testWithFlag(pathToAnswerMap, "-m");
+        testWithFlag(pathToAnswerMap, "--memoized");
+    }
+
+    @Test
+    public void testDSAP3Iterative() throws URISyntaxException {
+        Map<String, String> pathToAnswerMap = new HashMap<>();
+
+        pathToAnswerMap.put("/P3eg1.txt", "188");
+        pathToAnswerMap.put("/P3eg2.txt", "42");
+        pathToAnswerMap.put("/P3eg3.txt", "77");
+        pathToAnswerMap.put("/P3eg4.txt", "46");
+        pathToAnswerMap.put("/P3eg5.txt", "181");
+        pathToAnswerMap.put("/P3eg6.txt", "712");
+        pathToAnswerMap.put("/P3eg7.txt", "1054");
+        pathToAnswerMap.put("/P3eg8.txt", "230");
+        pathToAnswerMap.put("/P3eg9.txt", "4791096");
+        pathToAnswerMap.put("/P3eg10.txt", "31762");
+
+        testWithFlag(pathToAnswerMap, "-i");
+        testWithFlag(pathToAnswerMap, "--iterative");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Random;
+
+public class DynamicLargestEmptySquareMatrixTest {
+    LargestEmptySquareCalculator calculator = new IterativeLargestEmptySquareCalculator();
+
+    @Test
+    public void testGetLargestEmptySquareAfterConstruction() {
+        boolean[][] matrix = new boolean[][]{
+                new boolean[]{false, false, false},
+                new boolean[]{false, false, true},
+                new boolean[]{false, false, false}
+        };
+        Assert.assertEquals(2, new DynamicLargestEmptySquareMatrix(matrix).getLargestEmptySquare());
+    }
+
+    @Test
+    public void testSet() {
+        DynamicLargestEmptySquareMatrix dynamicMatrix = new DynamicLargestEmptySquareMatrix(new boolean[3][3]);
+        Assert.assertEquals(3, dynamicMatrix.getLargestEmptySquare());
+
+        dynamicMatrix.set(1, 1, true);
+        Assert.assertTrue(dynamicMatrix.isOccupied(1, 1));
+        Assert.assertEquals(1, dynamicMatrix.getLargestEmptySquare());
+
+        dynamicMatrix.set(1, 1, false);
+        Assert.assertFalse(dynamicMatrix.isOccupied(1, 1));
+        Assert.assertEquals(3, dynamicMatrix.getLargestEmptySquare());
+
+        dynamicMatrix.set(0, 0, true);
+        Assert.assertEquals(2, dynamicMatrix.getLargestEmptySquare());
+    }
+
+    @Test
+    public void testSetAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+
+        for (int sideLength : new int[]{1, 5, 40, 100}) {
+            boolean[][] matrix = new boolean[sideLength][sideLength];
+            for (int y = 0; y < sideLength; y++) {
+                for (int x = 0; x < sideLength; x++) {
+                    matrix[y][x] = random.nextDouble() < 0.05;
+                }
+            }
+
+            DynamicLargestEmptySquareMatrix dynamicMatrix = new DynamicLargestEmptySquareMatrix(matrix);
+            for (int flip = 0; flip < 200; flip++) {
+                int x = random.nextInt(sideLength);
+                int y = random.nextInt(sideLength);
+                matrix[y][x] = random.nextBoolean();
+                dynamicMatrix.set(x, y, matrix[y][x]);
+                Assert.assertEquals(calculator.getLargestEmptySquare(matrix), dynamicMatrix.getLargestEmptySquare());
+            }
+        }
+    }
+
+    @Test
+    public void testSetOnMappedBinaryMatrix() throws IOException, ParseException {
+        MatrixLoader loader = new MatrixLoader();
+        PackedMatrix matrix = PackedMatrix.fromBooleanArray(new boolean[3][3]);
+        Path binaryPath = Files.createTempFile("DynamicLargestEmptySquareMatrixTest", ".bin");
+        try {
+            try (OutputStream output = Files.newOutputStream(binaryPath)) {
+                new MatrixWriter().serializeBinaryMatrix(matrix, output);
+            }
+            PackedMatrix mappedMatrix = loader.mapBinaryMatrix(binaryPath);
+
+            DynamicLargestEmptySquareMatrix dynamicMatrix = new DynamicLargestEmptySquareMatrix(mappedMatrix);
+            dynamicMatrix.set(1, 1, true);
+            Assert.assertTrue(dynamicMatrix.isOccupied(1, 1));
+            Assert.assertEquals(1, dynamicMatrix.getLargestEmptySquare());
+            Assert.assertFalse(mappedMatrix.get(1, 1));
+        } finally {
+            Files.delete(binaryPath);
+        }
+    }
+
+    @Test
+    public void testSetDoesNotChangeTheOriginalMatrix() {
+        PackedMatrix matrix = PackedMatrix.fromBooleanArray(new boolean[3][3]);
+        DynamicLargestEmptySquareMatrix dynamicMatrix = new DynamicLargestEmptySquareMatrix(matrix);
+
+        dynamicMatrix.set(0, 0, true);
+        Assert.assertTrue(dynamicMatrix.isOccupied(0, 0));
+        Assert.assertFalse(matrix.get(0, 0));
+    }
+}
@@ -0,0 +1,45 @@
+import org.junit.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class HighestTeamAbilityCalculatorTests {
+    public void testGetHighestTeamAbilityAgreesWithRecursiveCalculator(HighestTeamAbilityCalculator calculator) {
+        Random random = new Random(21103);
+        RecursiveHighestTeamAbilityCalculator recursive = new RecursiveHighestTeamAbilityCalculator();
+
+        for (int numberOfWizards = 1; numberOfWizards <= 40; numberOfWizards++) {
+            List<List<Integer>> apprenticeIds = new ArrayList<>();
+            for (int id = 1; id <= numberOfWizards; id++) {
+                apprenticeIds.add(new ArrayList<>());
+            }
+            // Every wizard but the head has a master with a smaller id
+            for (int id = 2; id <= numberOfWizards; id++) {
+                apprenticeIds.get(random.nextInt(id - 1)).add(id);
+            }
+
+            Map<Integer, Wizard> guild = new HashMap<>();
+            for (int id = 1; id <= numberOfWizards; id++) {
+                guild.put(id, new Wizard(id, random.nextInt(100), apprenticeIds.get(id - 1)));
+            }
+
+            Assert.assertEquals(recursive.getHighestTeamAbility(guild), calculator.getHighestTeamAbility(guild));
+        }
+    }
+
+    public void testGetHighestTeamAbilityOnLongChain(HighestTeamAbilityCalculator calculator) {
+        int numberOfWizards = 1000000;
+        Map<Integer, Wizard> guild = new HashMap<>();
+        for (int id = 1; id < numberOfWizards; id++) {
+            guild.put(id, new Wizard(id, 1, Collections.singletonList(id + 1)));
+        }
+        guild.put(numberOfWizards, new Wizard(numberOfWizards, 1, Collections.emptyList()));
+
+        // No wizard can be on a team with their own master, so at best every other wizard is chosen
+        Assert.assertEquals(numberOfWizards / 2, calculator.getHighestTeamAbility(guild));
+    }
+}
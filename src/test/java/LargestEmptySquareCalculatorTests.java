@@ -1,50 +1,77 @@
 import org.junit.Assert;
 
+import java.util.Random;
+
 public class LargestEmptySquareCalculatorTests {
 
     public void testGetLargestEmptySquareWhenWholeMatrixIsEmpty(LargestEmptySquareCalculator calculator) {
-        Assert.assertEquals(3, calculator.getLargestEmptySquare(
+        assertLargestEmptySquare(3, calculator,
                 new boolean[][]{
                         new boolean[]{false, false, false},
                         new boolean[]{false, false, false},
                         new boolean[]{false, false, false}
                 }
-        ));
+        );
     }
 
     public void testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty(LargestEmptySquareCalculator calculator) {
-        Assert.assertEquals(2, calculator.getLargestEmptySquare(
+        assertLargestEmptySquare(2, calculator,
                 new boolean[][]{
                         new boolean[]{true, false, false},
                         new boolean[]{false, false, false},
                         new boolean[]{false, false, false}
                 }
-        ));
+        );
 
-        Assert.assertEquals(2, calculator.getLargestEmptySquare(
+        assertLargestEmptySquare(2, calculator,
                 new boolean[][]{
                         new boolean[]{false, false, false},
                         new boolean[]{false, false, true},
                         new boolean[]{false, false, false}
                 }
-        ));
+        );
 
-        Assert.assertEquals(1, calculator.getLargestEmptySquare(
+        assertLargestEmptySquare(1, calculator,
                 new boolean[][]{
                         new boolean[]{false, false, false},
                         new boolean[]{false, true, true},
                         new boolean[]{false, false, false}
                 }
-        ));
+        );
     }
 
     public void testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty(LargestEmptySquareCalculator calculator) {
-        Assert.assertEquals(0, calculator.getLargestEmptySquare(
+        assertLargestEmptySquare(0, calculator,
                 new boolean[][]{
                         new boolean[]{true, true, true},
                         new boolean[]{true, true, true},
                         new boolean[]{true, true, true}
                 }
-        ));
+        );
+    }
+
+    public void testGetLargestEmptySquareAgreesWithIterativeCalculator(LargestEmptySquareCalculator calculator) {
+        LargestEmptySquareCalculator iterativeCalculator = new IterativeLargestEmptySquareCalculator();
+        Random random = new Random(21103);
+
+        for (int sideLength : new int[]{1, 2, 63, 64, 65, 150}) {
+            for (double density : new double[]{0.0, 0.01, 0.1, 0.5}) {
+                boolean[][] matrix = new boolean[sideLength][sideLength];
+                for (int y = 0; y < sideLength; y++) {
+                    for (int x = 0; x < sideLength; x++) {
+                        matrix[y][x] = random.nextDouble() < density;
+                    }
+                }
+                assertLargestEmptySquare(iterativeCalculator.getLargestEmptySquare(matrix), calculator, matrix);
+            }
+        }
+    }
+
+    /**
+     * Check a calculator's answer on both the nested boolean and the packed representation of a matrix.
+     */
+    private void assertLargestEmptySquare(int expected, LargestEmptySquareCalculator calculator, boolean[][] matrix) {
+        Assert.assertEquals(expected, calculator.getLargestEmptySquare(matrix));
+        Assert.assertEquals(expected, calculator.getLargestEmptySquare(PackedMatrix.fromBooleanArray(matrix)));
     }
 }
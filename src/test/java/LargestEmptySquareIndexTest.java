@@ -0,0 +1,68 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LargestEmptySquareIndexTest {
+    LargestEmptySquareCalculator calculator = new IterativeLargestEmptySquareCalculator();
+
+    @Test
+    public void testGetLargestEmptySquare() {
+        LargestEmptySquareIndex index = new LargestEmptySquareIndex(new boolean[][]{
+                new boolean[]{false, false, false, true},
+                new boolean[]{false, false, false, false},
+                new boolean[]{false, false, true, false},
+                new boolean[]{false, false, false, false}
+        });
+
+        Assert.assertEquals(2, index.getLargestEmptySquare(new MatrixRectangle(0, 0, 3, 3)));
+        Assert.assertEquals(2, index.getLargestEmptySquare(new MatrixRectangle(0, 0, 2, 1)));
+        Assert.assertEquals(1, index.getLargestEmptySquare(new MatrixRectangle(1, 1, 3, 3)));
+        Assert.assertEquals(0, index.getLargestEmptySquare(new MatrixRectangle(2, 2, 2, 2)));
+        Assert.assertEquals(1, index.getLargestEmptySquare(new MatrixRectangle(3, 3, 3, 3)));
+    }
+
+    @Test
+    public void testGetLargestEmptySquaresAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+
+        for (int sideLength : new int[]{1, 7, 40}) {
+            boolean[][] matrix = new boolean[sideLength][sideLength];
+            for (int y = 0; y < sideLength; y++) {
+                for (int x = 0; x < sideLength; x++) {
+                    matrix[y][x] = random.nextDouble() < 0.05;
+                }
+            }
+            LargestEmptySquareIndex index = new LargestEmptySquareIndex(matrix);
+
+            List<MatrixRectangle> rectangles = new ArrayList<>();
+            for (int query = 0; query < 200; query++) {
+                int left = random.nextInt(sideLength), right = left + random.nextInt(sideLength - left);
+                int top = random.nextInt(sideLength), bottom = top + random.nextInt(sideLength - top);
+                rectangles.add(new MatrixRectangle(left, top, right, bottom));
+            }
+
+            int[] largestEmptySquares = index.getLargestEmptySquares(rectangles);
+            for (int i = 0; i < rectangles.size(); i++) {
+                Assert.assertEquals(
+                        getLargestEmptySquareBySlicing(matrix, rectangles.get(i)),
+                        largestEmptySquares[i]
+                );
+            }
+        }
+    }
+
+    private int getLargestEmptySquareBySlicing(boolean[][] matrix, MatrixRectangle r) {
+        // The calculators expect square matrices, so pad the slice out with non-empty cells
+        int side = Math.max(r.right - r.left, r.bottom - r.top) + 1;
+        boolean[][] slice = new boolean[side][side];
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                slice[y][x] = r.left + x > r.right || r.top + y > r.bottom || matrix[r.top + y][r.left + x];
+            }
+        }
+        return calculator.getLargestEmptySquare(slice);
+    }
+}
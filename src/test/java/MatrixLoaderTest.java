@@ -1,7 +1,12 @@
 import org.junit.Test;
 import org.junit.Assert;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
@@ -56,4 +61,245 @@ public class MatrixLoaderTest {
             }
         }
     }
+
+    @Test
+    public void testLoadPackedMatrix() {
+        MatrixLoader loader = new MatrixLoader();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P1eg" + i + ".txt";
+            try {
+                boolean[][] matrix = loader.deserializeMatrix(getClass().getResourceAsStream(path));
+                PackedMatrix packedMatrix = loader.deserializePackedMatrix(getClass().getResourceAsStream(path));
+
+                Assert.assertEquals(matrix.length, packedMatrix.sideLength);
+                for (int y = 0; y < matrix.length; y++) {
+                    for (int x = 0; x < matrix.length; x++) {
+                        Assert.assertEquals(matrix[y][x], packedMatrix.get(x, y));
+                    }
+                }
+                boolean[][] unpackedMatrix = packedMatrix.toBooleanArray();
+                for (int y = 0; y < matrix.length; y++) {
+                    Assert.assertArrayEquals(matrix[y], unpackedMatrix[y]);
+                }
+            } catch (IOException e) {
+                Assert.fail("An IOException was thrown when loading " + path);
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + path);
+            }
+        }
+    }
+
+    @Test
+    public void testReadMatrixRows() {
+        MatrixLoader loader = new MatrixLoader();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P1eg" + i + ".txt";
+            try {
+                boolean[][] matrix = loader.deserializeMatrix(getClass().getResourceAsStream(path));
+                try (MatrixRowReader rows = loader.openMatrixRows(getClass().getResourceAsStream(path))) {
+                    Assert.assertEquals(matrix.length, rows.sideLength);
+
+                    boolean[] row = new boolean[rows.sideLength];
+                    for (int y = 0; y < matrix.length; y++) {
+                        Assert.assertTrue(rows.readRow(row));
+                        Assert.assertArrayEquals(matrix[y], row);
+                    }
+                    Assert.assertFalse(rows.readRow(row));
+                }
+            } catch (IOException e) {
+                Assert.fail("An IOException was thrown when loading " + path);
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + path);
+            }
+        }
+    }
+
+    @Test
+    public void testReadMatrixRowsRejectsMalformedInput() throws IOException {
+        MatrixLoader loader = new MatrixLoader();
+
+        String[] malformedInputs = new String[] {
+                "2\n01\n0\n",
+                "2\n01\n012\n",
+                "2\n01\n02\n",
+                "2\n01\n",
+                "2\n01\n00\n11\n"
+        };
+
+        for (String malformedInput : malformedInputs) {
+            try (MatrixRowReader rows = loader.openMatrixRows(new ByteArrayInputStream(malformedInput.getBytes()))) {
+                boolean[] row = new boolean[rows.sideLength];
+                while (rows.readRow(row)) { }
+                Assert.fail("No ParseException was thrown when loading " + malformedInput);
+            } catch (ParseException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testLoadSparseMatrix() {
+        MatrixLoader loader = new MatrixLoader();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P1eg" + i + ".txt";
+            String sparsePath = "/P1eg" + i + "-sparse.txt";
+            try {
+                boolean[][] matrix = loader.deserializeMatrix(getClass().getResourceAsStream(path));
+                SparseMatrix sparseMatrix = loader.deserializeSparseMatrix(getClass().getResourceAsStream(sparsePath));
+                SparseMatrix expectedSparseMatrix = SparseMatrix.fromBooleanArray(matrix);
+
+                Assert.assertEquals(expectedSparseMatrix.sideLength, sparseMatrix.sideLength);
+                Assert.assertArrayEquals(expectedSparseMatrix.obstacleXs, sparseMatrix.obstacleXs);
+                Assert.assertArrayEquals(expectedSparseMatrix.obstacleYs, sparseMatrix.obstacleYs);
+            } catch (IOException e) {
+                Assert.fail("An IOException was thrown when loading " + sparsePath);
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + sparsePath);
+            }
+        }
+    }
+
+    @Test
+    public void testLoadSparseMatrixRejectsMalformedInput() throws IOException {
+        MatrixLoader loader = new MatrixLoader();
+
+        String[] malformedInputs = new String[] {
+                "3 2\n0 0\n",
+                "3 1\n0 3\n",
+                "3 1\n0 -1\n",
+                "3 1\n0 0 0\n",
+                "3 1\n0 0\n1 1\n"
+        };
+
+        for (String malformedInput : malformedInputs) {
+            try {
+                loader.deserializeSparseMatrix(new ByteArrayInputStream(malformedInput.getBytes()));
+                Assert.fail("No ParseException was thrown when loading " + malformedInput);
+            } catch (ParseException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAndMapBinaryMatrix() throws IOException {
+        MatrixLoader loader = new MatrixLoader();
+        MatrixWriter writer = new MatrixWriter();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P1eg" + i + ".txt";
+            Path binaryPath = Files.createTempFile("P1eg" + i, ".bin");
+            try {
+                PackedMatrix matrix = loader.deserializePackedMatrix(getClass().getResourceAsStream(path));
+                try (OutputStream output = Files.newOutputStream(binaryPath)) {
+                    writer.serializeBinaryMatrix(matrix, output);
+                }
+
+                Assert.assertTrue(loader.isBinaryMatrix(binaryPath));
+                PackedMatrix mappedMatrix = loader.mapBinaryMatrix(binaryPath);
+                Assert.assertEquals(matrix.sideLength, mappedMatrix.sideLength);
+                for (int y = 0; y < matrix.sideLength; y++) {
+                    for (int wordIndex = 0; wordIndex < matrix.wordsPerRow; wordIndex++) {
+                        Assert.assertEquals(matrix.getWord(y, wordIndex), mappedMatrix.getWord(y, wordIndex));
+                    }
+                }
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + path);
+            } finally {
+                Files.delete(binaryPath);
+            }
+        }
+    }
+
+    @Test
+    public void testMapBinaryMatrixRejectsMalformedInput() throws IOException {
+        MatrixLoader loader = new MatrixLoader();
+        Path binaryPath = Files.createTempFile("malformed", ".bin");
+        try {
+            Files.write(binaryPath, "3\n000\n000\n000\n".getBytes());
+            Assert.assertFalse(loader.isBinaryMatrix(binaryPath));
+            try {
+                loader.mapBinaryMatrix(binaryPath);
+                Assert.fail("No ParseException was thrown when mapping a text matrix");
+            } catch (ParseException ignored) {
+            }
+
+            // A valid header for a 3 x 3 matrix, but only two of its three rows
+            Files.write(binaryPath, new byte[]{0x44, 0x53, 0x41, 0x4D, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+            Assert.assertTrue(loader.isBinaryMatrix(binaryPath));
+            try {
+                loader.mapBinaryMatrix(binaryPath);
+                Assert.fail("No ParseException was thrown when mapping a truncated binary matrix");
+            } catch (ParseException ignored) {
+            }
+        } finally {
+            Files.delete(binaryPath);
+        }
+    }
+
+    @Test
+    public void testMapBinaryMatrixRejectsFilesTooLargeToMap() throws IOException, ParseException {
+        MatrixLoader loader = new MatrixLoader();
+        Path binaryPath = Files.createTempFile("large", ".bin");
+        try {
+            // A sparse file just over the mapping limit, so no disk space is used
+            try (RandomAccessFile file = new RandomAccessFile(binaryPath.toFile(), "rw")) {
+                file.write(new byte[]{0x44, 0x53, 0x41, 0x4D});
+                file.setLength(Integer.MAX_VALUE + 1L);
+            }
+            try {
+                loader.mapBinaryMatrix(binaryPath);
+                Assert.fail("No IOException was thrown when mapping a file over 2GB");
+            } catch (IOException ignored) {
+            }
+        } finally {
+            Files.delete(binaryPath);
+        }
+    }
+
+    @Test
+    public void testLoadRunLengthMatrix() {
+        MatrixLoader loader = new MatrixLoader();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P1eg" + i + ".txt";
+            String runLengthPath = "/P1eg" + i + "-rle.txt";
+            try {
+                boolean[][] matrix = loader.deserializeMatrix(getClass().getResourceAsStream(path));
+                RunLengthMatrix runLengthMatrix = loader.deserializeRunLengthMatrix(getClass().getResourceAsStream(runLengthPath));
+                RunLengthMatrix expectedRunLengthMatrix = RunLengthMatrix.fromBooleanArray(matrix);
+
+                Assert.assertEquals(expectedRunLengthMatrix.sideLength, runLengthMatrix.sideLength);
+                for (int y = 0; y < matrix.length; y++) {
+                    Assert.assertArrayEquals(expectedRunLengthMatrix.runs[y], runLengthMatrix.runs[y]);
+                }
+            } catch (IOException e) {
+                Assert.fail("An IOException was thrown when loading " + runLengthPath);
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + runLengthPath);
+            }
+        }
+    }
+
+    @Test
+    public void testLoadRunLengthMatrixRejectsMalformedInput() throws IOException {
+        MatrixLoader loader = new MatrixLoader();
+
+        String[] malformedInputs = new String[] {
+                "3\n3\n1 2\n",
+                "3\n3\n1 1\n3\n",
+                "3\n3\n1 1 2\n3\n",
+                "3\n3\n1 x 1\n3\n",
+                "3\n3\n3\n3\n3\n"
+        };
+
+        for (String malformedInput : malformedInputs) {
+            try {
+                loader.deserializeRunLengthMatrix(new ByteArrayInputStream(malformedInput.getBytes()));
+                Assert.fail("No ParseException was thrown when loading " + malformedInput);
+            } catch (ParseException ignored) {
+            }
+        }
+    }
 }
@@ -0,0 +1,75 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class MaximumCornerShopProfitIndexTest {
+    IterativeMaximumCornerShopProfitCalculator calculator = new IterativeMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testUpdateDay() {
+        MaximumCornerShopProfitIndex index = new MaximumCornerShopProfitIndex(new ProfitForecast(
+                Arrays.asList(3, 7, 2), Arrays.asList(9, 1, 8), new ProfitForecastMetadata(3, 4)
+        ));
+
+        Assert.assertEquals(18, index.getMaxProfit());
+        Assert.assertEquals(9, index.getMaxProfit(0, 0));
+        Assert.assertEquals(7, index.getMaxProfit(1, 1));
+        Assert.assertEquals(11, index.getMaxProfit(1, 2));
+        Assert.assertEquals(0, index.getMaxProfit(2, 1));
+
+        index.updateDay(1, MaximumCornerShopProfitCalculator.Item.UMBRELLA, 20);
+        Assert.assertEquals(29, index.getMaxProfit());
+        Assert.assertEquals(24, index.getMaxProfit(1, 2));
+
+        index.updateDay(1, MaximumCornerShopProfitCalculator.Item.SUNCREAM, 20);
+        Assert.assertEquals(37, index.getMaxProfit());
+    }
+
+    @Test
+    public void testGetMaxProfitAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+
+        for (int numberOfDays : new int[]{1, 5, 33}) {
+            int[] umbrellaProfits = new int[numberOfDays];
+            int[] suncreamProfits = new int[numberOfDays];
+            for (int day = 0; day < numberOfDays; day++) {
+                umbrellaProfits[day] = random.nextInt(100);
+                suncreamProfits[day] = random.nextInt(100);
+            }
+            ProfitForecastMetadata metadata = new ProfitForecastMetadata(numberOfDays, random.nextInt(50));
+            MaximumCornerShopProfitIndex index = new MaximumCornerShopProfitIndex(
+                    new PrimitiveProfitForecast(umbrellaProfits.clone(), suncreamProfits.clone(), metadata)
+            );
+
+            for (int update = 0; update < 50; update++) {
+                int day = random.nextInt(numberOfDays);
+                int profit = random.nextInt(100);
+                if (random.nextBoolean()) {
+                    umbrellaProfits[day] = profit;
+                    index.updateDay(day, MaximumCornerShopProfitCalculator.Item.UMBRELLA, profit);
+                } else {
+                    suncreamProfits[day] = profit;
+                    index.updateDay(day, MaximumCornerShopProfitCalculator.Item.SUNCREAM, profit);
+                }
+
+                Assert.assertEquals(
+                        calculator.getMaxProfit(new PrimitiveProfitForecast(umbrellaProfits, suncreamProfits, metadata)),
+                        index.getMaxProfit()
+                );
+
+                int firstDay = random.nextInt(numberOfDays);
+                int lastDay = firstDay + random.nextInt(numberOfDays - firstDay);
+                Assert.assertEquals(
+                        calculator.getMaxProfit(new PrimitiveProfitForecast(
+                                Arrays.copyOfRange(umbrellaProfits, firstDay, lastDay + 1),
+                                Arrays.copyOfRange(suncreamProfits, firstDay, lastDay + 1),
+                                new ProfitForecastMetadata(lastDay - firstDay + 1, metadata.stockChangeCost)
+                        )),
+                        index.getMaxProfit(firstDay, lastDay)
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class MaximumCornerShopProfitTablesTest {
+    IterativeMaximumCornerShopProfitCalculator calculator = new IterativeMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testGetMaxProfitClosedOnAndSplitAt() {
+        MaximumCornerShopProfitTables tables = new MaximumCornerShopProfitTables(new ProfitForecast(
+                Arrays.asList(3, 20, 2), Arrays.asList(9, 1, 8), new ProfitForecastMetadata(3, 4)
+        ));
+
+        Assert.assertEquals(29, tables.getMaxProfit());
+        Assert.assertEquals(17, tables.getMaxProfitClosedOn(1));
+        Assert.assertEquals(25, tables.getMaxProfitClosedOn(2));
+        Assert.assertEquals(29, tables.getMaxProfitSplitAt(0));
+        Assert.assertEquals(9 + 24, tables.getMaxProfitSplitAt(1));
+        Assert.assertArrayEquals(new int[]{17, 24}, tables.getMaxProfitsClosedOn(new int[]{1, 0}));
+        Assert.assertArrayEquals(new int[]{29, 29}, tables.getMaxProfitsSplitAt(new int[]{3, 0}));
+    }
+
+    @Test
+    public void testQueriesAgreeWithIterativeCalculator() {
+        Random random = new Random(21103);
+
+        for (int numberOfDays = 1; numberOfDays <= 20; numberOfDays++) {
+            int[] umbrellaProfits = new int[numberOfDays];
+            int[] suncreamProfits = new int[numberOfDays];
+            for (int day = 0; day < numberOfDays; day++) {
+                umbrellaProfits[day] = random.nextInt(100);
+                suncreamProfits[day] = random.nextInt(100);
+            }
+            int stockChangeCost = random.nextInt(50);
+            MaximumCornerShopProfitTables tables = new MaximumCornerShopProfitTables(new PrimitiveProfitForecast(
+                    umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, stockChangeCost)
+            ));
+
+            for (int day = 0; day < numberOfDays; day++) {
+                int[] closedUmbrellaProfits = umbrellaProfits.clone();
+                int[] closedSuncreamProfits = suncreamProfits.clone();
+                closedUmbrellaProfits[day] = 0;
+                closedSuncreamProfits[day] = 0;
+                Assert.assertEquals(
+                        getMaxProfit(closedUmbrellaProfits, closedSuncreamProfits, 0, numberOfDays, stockChangeCost),
+                        tables.getMaxProfitClosedOn(day)
+                );
+            }
+
+            for (int day = 0; day <= numberOfDays; day++) {
+                Assert.assertEquals(
+                        getMaxProfit(umbrellaProfits, suncreamProfits, 0, day, stockChangeCost)
+                                + getMaxProfit(umbrellaProfits, suncreamProfits, day, numberOfDays, stockChangeCost),
+                        tables.getMaxProfitSplitAt(day)
+                );
+            }
+        }
+    }
+
+    private int getMaxProfit(int[] umbrellaProfits, int[] suncreamProfits, int from, int to, int stockChangeCost) {
+        return calculator.getMaxProfit(new PrimitiveProfitForecast(
+                Arrays.copyOfRange(umbrellaProfits, from, to),
+                Arrays.copyOfRange(suncreamProfits, from, to),
+                new ProfitForecastMetadata(to - from, stockChangeCost)
+        ));
+    }
+}
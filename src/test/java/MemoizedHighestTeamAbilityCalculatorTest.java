@@ -0,0 +1,16 @@
+import org.junit.Test;
+
+public class MemoizedHighestTeamAbilityCalculatorTest {
+    MemoizedHighestTeamAbilityCalculator calculator = new MemoizedHighestTeamAbilityCalculator();
+    HighestTeamAbilityCalculatorTests tests = new HighestTeamAbilityCalculatorTests();
+
+    @Test
+    public void testGetHighestTeamAbilityAgreesWithRecursiveCalculator() {
+        tests.testGetHighestTeamAbilityAgreesWithRecursiveCalculator(calculator);
+    }
+
+    @Test
+    public void testGetHighestTeamAbilityOnLongChain() {
+        tests.testGetHighestTeamAbilityOnLongChain(calculator);
+    }
+}
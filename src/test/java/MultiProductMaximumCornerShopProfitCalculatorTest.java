@@ -0,0 +1,109 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class MultiProductMaximumCornerShopProfitCalculatorTest {
+    MultiProductMaximumCornerShopProfitCalculator calculator = new MultiProductMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testGetMaxProfitWithUniformCostAgreesWithExhaustiveSearch() {
+        Random random = new Random(21103);
+
+        for (int numberOfProducts = 1; numberOfProducts <= 6; numberOfProducts++) {
+            for (int numberOfDays = 0; numberOfDays <= 5; numberOfDays++) {
+                MultiProductProfitForecast forecast = randomForecast(random, numberOfDays, numberOfProducts);
+                int stockChangeCost = random.nextInt(20);
+
+                int[][] switchCosts = new int[numberOfProducts][numberOfProducts];
+                for (int from = 0; from < numberOfProducts; from++) {
+                    for (int to = 0; to < numberOfProducts; to++) {
+                        switchCosts[from][to] = from == to ? 0 : stockChangeCost;
+                    }
+                }
+
+                int expected = getMaxProfitExhaustively(forecast, switchCosts);
+                Assert.assertEquals(expected, calculator.getMaxProfit(forecast, stockChangeCost));
+                Assert.assertEquals(expected, calculator.getMaxProfit(forecast, switchCosts));
+            }
+        }
+    }
+
+    @Test
+    public void testGetMaxProfitWithSwitchCostMatrixAgreesWithExhaustiveSearch() {
+        Random random = new Random(21103);
+
+        for (int numberOfProducts = 1; numberOfProducts <= 6; numberOfProducts++) {
+            for (int numberOfDays = 0; numberOfDays <= 5; numberOfDays++) {
+                MultiProductProfitForecast forecast = randomForecast(random, numberOfDays, numberOfProducts);
+
+                int[][] switchCosts = new int[numberOfProducts][numberOfProducts];
+                for (int from = 0; from < numberOfProducts; from++) {
+                    for (int to = 0; to < numberOfProducts; to++) {
+                        switchCosts[from][to] = from == to ? 0 : random.nextInt(30);
+                    }
+                }
+
+                Assert.assertEquals(
+                        getMaxProfitExhaustively(forecast, switchCosts),
+                        calculator.getMaxProfit(forecast, switchCosts)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testGetMaxProfitRejectsForecastsWithoutProducts() {
+        MultiProductProfitForecast forecast = new MultiProductProfitForecast(3, 0, new int[0]);
+        try {
+            calculator.getMaxProfit(forecast, 5);
+            Assert.fail("No IllegalArgumentException was thrown for a forecast without products");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            calculator.getMaxProfit(forecast, new int[0][0]);
+            Assert.fail("No IllegalArgumentException was thrown for a forecast without products");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testGetMaxProfitWithoutDaysIsZero() {
+        MultiProductProfitForecast forecast = new MultiProductProfitForecast(0, 3, new int[0]);
+        Assert.assertEquals(0, calculator.getMaxProfit(forecast, 5));
+        Assert.assertEquals(0, calculator.getMaxProfit(forecast, new int[3][3]));
+    }
+
+    private MultiProductProfitForecast randomForecast(Random random, int numberOfDays, int numberOfProducts) {
+        int[] profits = new int[numberOfDays * numberOfProducts];
+        for (int i = 0; i < profits.length; i++) {
+            profits[i] = random.nextInt(40);
+        }
+        return new MultiProductProfitForecast(numberOfDays, numberOfProducts, profits);
+    }
+
+    private int getMaxProfitExhaustively(MultiProductProfitForecast forecast, int[][] switchCosts) {
+        if (forecast.numberOfDays == 0) {
+            return 0;
+        }
+
+        int best = Integer.MIN_VALUE;
+        for (int product = 0; product < forecast.numberOfProducts; product++) {
+            best = Math.max(best, getMaxProfitExhaustively(forecast, switchCosts, 0, product));
+        }
+        return best;
+    }
+
+    private int getMaxProfitExhaustively(MultiProductProfitForecast forecast, int[][] switchCosts, int day, int product) {
+        int profit = forecast.getProfit(day, product);
+        if (day == forecast.numberOfDays - 1) {
+            return profit;
+        }
+
+        int best = Integer.MIN_VALUE;
+        for (int nextProduct = 0; nextProduct < forecast.numberOfProducts; nextProduct++) {
+            best = Math.max(best, getMaxProfitExhaustively(forecast, switchCosts, day + 1, nextProduct) - switchCosts[product][nextProduct]);
+        }
+        return profit + best;
+    }
+}
@@ -0,0 +1,36 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class OnlineMaximumCornerShopProfitCalculatorTest {
+    @Test
+    public void testGetCurrentMaxProfitAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+        IterativeMaximumCornerShopProfitCalculator iterative = new IterativeMaximumCornerShopProfitCalculator();
+
+        int numberOfDays = 60;
+        int stockChangeCost = 25;
+        int[] umbrellaProfits = new int[numberOfDays];
+        int[] suncreamProfits = new int[numberOfDays];
+        OnlineMaximumCornerShopProfitCalculator online = new OnlineMaximumCornerShopProfitCalculator(stockChangeCost);
+        Assert.assertEquals(0, online.getCurrentMaxProfit());
+
+        for (int day = 0; day < numberOfDays; day++) {
+            umbrellaProfits[day] = random.nextInt(100);
+            suncreamProfits[day] = random.nextInt(100);
+            online.accept(umbrellaProfits[day], suncreamProfits[day]);
+
+            Assert.assertEquals(day + 1, online.getNumberOfDays());
+            Assert.assertEquals(
+                    iterative.getMaxProfit(new PrimitiveProfitForecast(
+                            Arrays.copyOf(umbrellaProfits, day + 1),
+                            Arrays.copyOf(suncreamProfits, day + 1),
+                            new ProfitForecastMetadata(day + 1, stockChangeCost)
+                    )),
+                    online.getCurrentMaxProfit()
+            );
+        }
+    }
+}
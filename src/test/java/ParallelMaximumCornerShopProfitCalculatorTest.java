@@ -0,0 +1,49 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelMaximumCornerShopProfitCalculatorTest {
+    @Test
+    public void testGetMaxProfitAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+        IterativeMaximumCornerShopProfitCalculator iterative = new IterativeMaximumCornerShopProfitCalculator();
+
+        for (int chunkSize = 1; chunkSize <= 8; chunkSize *= 2) {
+            ParallelMaximumCornerShopProfitCalculator parallel = new ParallelMaximumCornerShopProfitCalculator(ForkJoinPool.commonPool(), chunkSize);
+
+            for (int numberOfDays = 0; numberOfDays <= 40; numberOfDays++) {
+                int[] umbrellaProfits = new int[numberOfDays];
+                int[] suncreamProfits = new int[numberOfDays];
+                for (int day = 0; day < numberOfDays; day++) {
+                    umbrellaProfits[day] = random.nextInt(100);
+                    suncreamProfits[day] = random.nextInt(100);
+                }
+                PrimitiveProfitForecast forecast = new PrimitiveProfitForecast(
+                        umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, random.nextInt(50))
+                );
+
+                Assert.assertEquals(iterative.getMaxProfit(forecast), parallel.getMaxProfit(forecast));
+            }
+        }
+    }
+
+    @Test
+    public void testMaxPlusMatricesCombineAssociatively() {
+        MaxPlusMatrix first = MaxPlusMatrix.forDay(3, 9, 4);
+        MaxPlusMatrix second = MaxPlusMatrix.forDay(7, 1, 4);
+        MaxPlusMatrix third = MaxPlusMatrix.forDay(2, 8, 4);
+
+        MaxPlusMatrix left = first.then(second).then(third);
+        MaxPlusMatrix right = first.then(second.then(third));
+
+        Assert.assertEquals(left.umbrellaFromUmbrella, right.umbrellaFromUmbrella);
+        Assert.assertEquals(left.umbrellaFromSuncream, right.umbrellaFromSuncream);
+        Assert.assertEquals(left.suncreamFromUmbrella, right.suncreamFromUmbrella);
+        Assert.assertEquals(left.suncreamFromSuncream, right.suncreamFromSuncream);
+        Assert.assertEquals(left.maxProfit(), MaxPlusMatrix.IDENTITY.then(left).then(MaxPlusMatrix.IDENTITY).maxProfit());
+        // Suncream, suncream (switching costs more than it gains), then suncream again
+        Assert.assertEquals(9 + 1 + 8, left.maxProfit());
+    }
+}
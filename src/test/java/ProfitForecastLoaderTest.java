@@ -1,7 +1,12 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -55,4 +60,119 @@ public class ProfitForecastLoaderTest {
             }
         }
     }
+
+    @Test
+    public void testLoadPrimitiveProfitForecast() {
+        ProfitForecastLoader loader = new ProfitForecastLoader();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P2eg" + i + ".txt";
+            try {
+                ProfitForecast forecast = loader.deserializeInput(getClass().getResourceAsStream(path));
+                PrimitiveProfitForecast primitiveForecast = loader.deserializePrimitiveInput(getClass().getResourceAsStream(path));
+                PrimitiveProfitForecast expectedForecast = PrimitiveProfitForecast.fromProfitForecast(forecast);
+
+                Assert.assertArrayEquals(expectedForecast.umbrellaProfitForecast, primitiveForecast.umbrellaProfitForecast);
+                Assert.assertArrayEquals(expectedForecast.suncreamProfitForecast, primitiveForecast.suncreamProfitForecast);
+
+                Assert.assertEquals(forecast.metadata.numberOfDays, primitiveForecast.metadata.numberOfDays);
+                Assert.assertEquals(forecast.metadata.stockChangeCost, primitiveForecast.metadata.stockChangeCost);
+            } catch (IOException e) {
+                Assert.fail("An IOException was thrown when loading " + path);
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + path);
+            }
+        }
+    }
+
+    @Test
+    public void testLoadPrimitiveProfitForecastRejectsMalformedInput() throws IOException {
+        ProfitForecastLoader loader = new ProfitForecastLoader();
+
+        String[] malformedInputs = new String[] {
+                "3\n1 2 3\n4 5 6\n",
+                "3 1 1\n1 2 3\n4 5 6\n",
+                "3 1\n1 2\n4 5 6\n",
+                "3 1\n1 2 3 4\n4 5 6\n",
+                "3 1\n1 2 x\n4 5 6\n",
+                "3 1\n1 2 3\n4 5 6\n7\n",
+                "3 1\n1 2 3\n4 5 99999999999\n"
+        };
+
+        for (String malformedInput : malformedInputs) {
+            try {
+                loader.deserializePrimitiveInput(new ByteArrayInputStream(malformedInput.getBytes()));
+                Assert.fail("No ParseException was thrown when loading " + malformedInput);
+            } catch (ParseException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testLoadPrimitiveProfitForecastAcceptsWindowsLineEndingsAndNegativeProfits() throws IOException, ParseException {
+        ProfitForecastLoader loader = new ProfitForecastLoader();
+
+        PrimitiveProfitForecast forecast = loader.deserializePrimitiveInput(
+                new ByteArrayInputStream(" 3\t1 \r\n1  -2 3\r\n4 5 6".getBytes())
+        );
+
+        Assert.assertArrayEquals(new int[]{1, -2, 3}, forecast.umbrellaProfitForecast);
+        Assert.assertArrayEquals(new int[]{4, 5, 6}, forecast.suncreamProfitForecast);
+        Assert.assertEquals(3, forecast.metadata.numberOfDays);
+        Assert.assertEquals(1, forecast.metadata.stockChangeCost);
+    }
+
+    @Test
+    public void testReadProfitForecastDays() throws URISyntaxException {
+        ProfitForecastLoader loader = new ProfitForecastLoader();
+
+        for (int i = 1; i <= 10; i++) {
+            String path = "/P2eg" + i + ".txt";
+            try {
+                PrimitiveProfitForecast forecast = loader.deserializePrimitiveInput(getClass().getResourceAsStream(path));
+                try (ProfitForecastDayReader days = loader.openDays(Paths.get(getClass().getResource(path).toURI()))) {
+                    Assert.assertEquals(forecast.metadata.numberOfDays, days.metadata.numberOfDays);
+                    Assert.assertEquals(forecast.metadata.stockChangeCost, days.metadata.stockChangeCost);
+
+                    for (int day = 0; day < forecast.metadata.numberOfDays; day++) {
+                        Assert.assertTrue(days.readDay());
+                        Assert.assertEquals(forecast.umbrellaProfitForecast[day], days.umbrellaProfit);
+                        Assert.assertEquals(forecast.suncreamProfitForecast[day], days.suncreamProfit);
+                    }
+                    Assert.assertFalse(days.readDay());
+                }
+            } catch (IOException e) {
+                Assert.fail("An IOException was thrown when loading " + path);
+            } catch (ParseException e) {
+                Assert.fail("A ParseException was thrown when loading " + path);
+            }
+        }
+    }
+
+    @Test
+    public void testReadProfitForecastDaysRejectsMalformedInput() throws IOException {
+        ProfitForecastLoader loader = new ProfitForecastLoader();
+
+        String[] malformedInputs = new String[] {
+                "3\n1 2 3\n4 5 6\n",
+                "3 1\n1 2\n4 5 6\n",
+                "3 1\n1 2 3\n4 5\n",
+                "3 1\n1 2 3 4\n4 5 6\n",
+                "3 1\n1 2 3\n4 5 6\n7\n"
+        };
+
+        Path path = Files.createTempFile("P2", ".txt");
+        try {
+            for (String malformedInput : malformedInputs) {
+                Files.write(path, malformedInput.getBytes());
+                try (ProfitForecastDayReader days = loader.openDays(path)) {
+                    while (days.readDay()) { }
+                    Assert.fail("No ParseException was thrown when loading " + malformedInput);
+                } catch (ParseException ignored) {
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class RunLengthLargestEmptySquareCalculatorTest {
+    RunLengthLargestEmptySquareCalculator calculator = new RunLengthLargestEmptySquareCalculator();
+    LargestEmptySquareCalculatorTests tests = new LargestEmptySquareCalculatorTests();
+
+    @Test
+    public void testGetLargestEmptySquareWhenWholeMatrixIsEmpty() {
+        tests.testGetLargestEmptySquareWhenWholeMatrixIsEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareAgreesWithIterativeCalculator() {
+        tests.testGetLargestEmptySquareAgreesWithIterativeCalculator(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareAgreesWithIterativeCalculatorOnLongRuns() {
+        LargestEmptySquareCalculator iterativeCalculator = new IterativeLargestEmptySquareCalculator();
+        Random random = new Random(1013);
+
+        for (int trial = 0; trial < 20; trial++) {
+            // Overlapping rectangular obstacles, so rows are a few long runs whose boundaries move between rows
+            boolean[][] matrix = new boolean[200][200];
+            for (int rectangle = 0; rectangle < 12; rectangle++) {
+                int left = random.nextInt(200);
+                int top = random.nextInt(200);
+                int right = Math.min(200, left + 1 + random.nextInt(80));
+                int bottom = Math.min(200, top + 1 + random.nextInt(80));
+                for (int y = top; y < bottom; y++) {
+                    for (int x = left; x < right; x++) {
+                        matrix[y][x] = true;
+                    }
+                }
+            }
+            Assert.assertEquals(iterativeCalculator.getLargestEmptySquare(matrix), calculator.getLargestEmptySquare(matrix));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StackSafeMemoizedLargestEmptySquareCalculatorTest {
+    StackSafeMemoizedLargestEmptySquareCalculator calculator = new StackSafeMemoizedLargestEmptySquareCalculator();
+    LargestEmptySquareCalculatorTests tests = new LargestEmptySquareCalculatorTests();
+
+    @Test
+    public void testGetLargestEmptySquareWhenWholeMatrixIsEmpty() {
+        tests.testGetLargestEmptySquareWhenWholeMatrixIsEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsPartiallyEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty() {
+        tests.testGetLargestEmptySquareWhenMatrixIsEntirelyNonEmpty(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareAgreesWithIterativeCalculator() {
+        tests.testGetLargestEmptySquareAgreesWithIterativeCalculator(calculator);
+    }
+
+    @Test
+    public void testGetLargestEmptySquareOnLargeEmptyMatrix() {
+        Assert.assertEquals(3000, calculator.getLargestEmptySquare(new boolean[3000][3000]));
+    }
+}
@@ -0,0 +1,44 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class StackSafeMemoizedMaximumCornerShopProfitCalculatorTest {
+    StackSafeMemoizedMaximumCornerShopProfitCalculator calculator = new StackSafeMemoizedMaximumCornerShopProfitCalculator();
+    IterativeMaximumCornerShopProfitCalculator iterative = new IterativeMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testGetMaxProfitAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+
+        for (int numberOfDays = 0; numberOfDays <= 40; numberOfDays++) {
+            int[] umbrellaProfits = new int[numberOfDays];
+            int[] suncreamProfits = new int[numberOfDays];
+            for (int day = 0; day < numberOfDays; day++) {
+                umbrellaProfits[day] = random.nextInt(200) - 100;
+                suncreamProfits[day] = random.nextInt(200) - 100;
+            }
+            PrimitiveProfitForecast forecast = new PrimitiveProfitForecast(
+                    umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, random.nextInt(50))
+            );
+
+            Assert.assertEquals(iterative.getMaxProfit(forecast), calculator.getMaxProfit(forecast));
+        }
+    }
+
+    @Test
+    public void testGetMaxProfitOnLongForecast() {
+        int numberOfDays = 1000000;
+        int[] umbrellaProfits = new int[numberOfDays];
+        int[] suncreamProfits = new int[numberOfDays];
+        for (int day = 0; day < numberOfDays; day++) {
+            umbrellaProfits[day] = day % 7;
+            suncreamProfits[day] = day % 5;
+        }
+        PrimitiveProfitForecast forecast = new PrimitiveProfitForecast(
+                umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, 3)
+        );
+
+        Assert.assertEquals(iterative.getMaxProfit(forecast), calculator.getMaxProfit(forecast));
+    }
+}
@@ -0,0 +1,102 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class SwitchCostProfitCurveTest {
+    IterativeMaximumCornerShopProfitCalculator calculator = new IterativeMaximumCornerShopProfitCalculator();
+
+    @Test
+    public void testGetMaxProfit() {
+        SwitchCostProfitCurve curve = new SwitchCostProfitCurve(new PrimitiveProfitForecast(
+                new int[]{3, 20, 2}, new int[]{9, 1, 8}, new ProfitForecastMetadata(3, 4)
+        ), 0, 100);
+
+        // Switching twice makes 37 before costs, staying on umbrellas makes 25
+        Assert.assertArrayEquals(new double[]{6}, curve.getBreakpoints(), 0);
+        Assert.assertEquals(37, curve.getMaxProfit(0));
+        Assert.assertEquals(29, curve.getMaxProfit(4));
+        Assert.assertEquals(25, curve.getMaxProfit(6));
+        Assert.assertEquals(25, curve.getMaxProfit(100));
+        Assert.assertEquals(2, curve.getNumberOfSwitches(5));
+        Assert.assertEquals(0, curve.getNumberOfSwitches(6));
+    }
+
+    @Test
+    public void testGetMaxProfitAgreesWithIterativeCalculator() {
+        Random random = new Random(21103);
+
+        for (int numberOfDays = 0; numberOfDays <= 40; numberOfDays++) {
+            int[] umbrellaProfits = new int[numberOfDays];
+            int[] suncreamProfits = new int[numberOfDays];
+            for (int day = 0; day < numberOfDays; day++) {
+                umbrellaProfits[day] = random.nextInt(100);
+                suncreamProfits[day] = random.nextInt(100);
+            }
+            SwitchCostProfitCurve curve = new SwitchCostProfitCurve(new PrimitiveProfitForecast(
+                    umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, 0)
+            ), 0, 120);
+
+            double[] breakpoints = curve.getBreakpoints();
+            for (int i = 1; i < breakpoints.length; i++) {
+                Assert.assertTrue(breakpoints[i - 1] < breakpoints[i]);
+            }
+
+            for (int stockChangeCost = 0; stockChangeCost <= 120; stockChangeCost++) {
+                Assert.assertEquals(
+                        calculator.getMaxProfit(new PrimitiveProfitForecast(
+                                umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, stockChangeCost)
+                        )),
+                        curve.getMaxProfit(stockChangeCost)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testGetMaxProfitWithinNarrowRange() {
+        PrimitiveProfitForecast forecast = new PrimitiveProfitForecast(
+                new int[]{3, 20, 2, 9, 40}, new int[]{9, 1, 8, 30, 2}, new ProfitForecastMetadata(5, 0)
+        );
+        SwitchCostProfitCurve curve = new SwitchCostProfitCurve(forecast, 10, 12);
+
+        for (int stockChangeCost = 10; stockChangeCost <= 12; stockChangeCost++) {
+            Assert.assertEquals(
+                    calculator.getMaxProfit(new PrimitiveProfitForecast(
+                            forecast.umbrellaProfitForecast, forecast.suncreamProfitForecast, new ProfitForecastMetadata(5, stockChangeCost)
+                    )),
+                    curve.getMaxProfit(stockChangeCost)
+            );
+        }
+
+        for (int stockChangeCost : new int[]{9, 13}) {
+            try {
+                curve.getMaxProfit(stockChangeCost);
+                Assert.fail("No IllegalArgumentException was thrown for a cost of " + stockChangeCost);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testConstructorRejectsProfitsTooLargeForExactArithmetic() {
+        int numberOfDays = 1 << 17;
+        int[] umbrellaProfits = new int[numberOfDays];
+        int[] suncreamProfits = new int[numberOfDays];
+        for (int day = 0; day < numberOfDays; day++) {
+            if (day % 2 == 0) {
+                umbrellaProfits[day] = Integer.MAX_VALUE;
+            } else {
+                suncreamProfits[day] = Integer.MAX_VALUE;
+            }
+        }
+
+        try {
+            new SwitchCostProfitCurve(new PrimitiveProfitForecast(
+                    umbrellaProfits, suncreamProfits, new ProfitForecastMetadata(numberOfDays, 0)
+            ), 0, Integer.MAX_VALUE);
+            Assert.fail("No ArithmeticException was thrown for scaled profits beyond the range of a long");
+        } catch (ArithmeticException ignored) {
+        }
+    }
+}
\ No newline at end of file